@@ -0,0 +1,171 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.DateRange;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Seeded generators of catalogs, bookings, and command lines for the benchmarks.
+ * Catalogs consist of hotels {@code 1..hotels} with rooms {@code 1..roomsPerHotel}; hotel {@code h} lies in
+ * city {@code "City" + h % cities}, and the categories of its rooms cycle through Single, Double, and Suite.
+ * Bookings made by {@link #bookSequential} never conflict, so the booking with index {@code i} always
+ * receives booking ID {@code firstId + i} and customer ID {@link #customerId(int) customerId(i)}.
+ *
+ * @author ujnaa
+ */
+public final class BenchmarkData {
+
+    /** Seed of all generators, so every run works on the same data. */
+    public static final long SEED = 20_240_101L;
+    /** First night of all generated bookings and queries. */
+    public static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    /** Number of distinct customers making the generated bookings. */
+    public static final int CUSTOMERS = 1000;
+    /** Prefix of all generated city names. */
+    public static final String CITY_PREFIX = "City";
+
+    private static final String[] CATEGORIES = {"Single", "Double", "Suite"};
+    private static final int MIN_PRICE_CENTS = 5_000;
+    private static final int PRICE_RANGE_CENTS = 25_000;
+    private static final double CENTS_PER_UNIT = 100.0;
+    private static final int NIGHTS_PER_SLOT = 2;
+    private static final String SPACE = " ";
+    private static final String FIRST_NAME_PREFIX = "First";
+    private static final String LAST_NAME = "Last";
+    private static final int PERCENT = 100;
+    private static final int FIND_AVAILABLE_PERCENT = 35;
+    private static final int FIND_CHEAPEST_PERCENT = 60;
+    private static final int BOOK_PERCENT = 85;
+    private static final int CANCEL_PERCENT = 95;
+
+    private BenchmarkData() {
+        // prevents instantiation
+    }
+
+    /**
+     * Creates a system with a generated catalog and no bookings.
+     *
+     * @param engine the availability engine used by all rooms
+     * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+     * @param cities the number of cities
+     * @param hotels the number of hotels, at most 99999
+     * @param roomsPerHotel the number of rooms of every hotel
+     * @return the system
+     */
+    public static BenchmarkSystem catalog(AvailabilityEngine engine, int parallelSearchThreshold,
+                                          int cities, int hotels, int roomsPerHotel) {
+        BenchmarkSystem system = new BenchmarkSystem(engine, parallelSearchThreshold);
+        Random random = new Random(SEED);
+        for (int hotel = 1; hotel <= hotels; hotel++) {
+            system.run(new String[] {"add", "hotel", Integer.toString(hotel), CITY_PREFIX + hotel % cities});
+            for (int room = 1; room <= roomsPerHotel; room++) {
+                double price = (MIN_PRICE_CENTS + random.nextInt(PRICE_RANGE_CENTS)) / CENTS_PER_UNIT;
+                system.run(new String[] {"add", "room", Integer.toString(hotel), Integer.toString(room),
+                    CATEGORIES[room % CATEGORIES.length], Double.toString(price)});
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Books the given number of one-night stays that never conflict with each other.
+     * Booking {@code i} is made for room {@code i % rooms} in two-night slot {@code firstSlot + i / rooms},
+     * where rooms are counted hotel by hotel.
+     *
+     * @param system the system with a catalog created by {@link #catalog}
+     * @param count the number of bookings
+     * @param hotels the number of hotels of the catalog
+     * @param roomsPerHotel the number of rooms of every hotel of the catalog
+     * @param firstSlot the slot of the first booking of every room; later calls must start behind earlier ones
+     */
+    public static void bookSequential(BenchmarkSystem system, int count, int hotels, int roomsPerHotel,
+                                      int firstSlot) {
+        int rooms = hotels * roomsPerHotel;
+        for (int i = 0; i < count; i++) {
+            int room = i % rooms;
+            LocalDate from = FIRST_DAY.plusDays((long) (firstSlot + i / rooms) * NIGHTS_PER_SLOT);
+            system.run(new String[] {"book", Integer.toString(room / roomsPerHotel + 1),
+                Integer.toString(room % roomsPerHotel + 1), from.toString(), from.plusDays(1).toString(),
+                FIRST_NAME_PREFIX + i % CUSTOMERS, LAST_NAME});
+        }
+    }
+
+    /**
+     * Returns the number of slots {@link #bookSequential} uses for the given number of bookings.
+     *
+     * @param count the number of bookings
+     * @param hotels the number of hotels of the catalog
+     * @param roomsPerHotel the number of rooms of every hotel of the catalog
+     * @return the number of slots
+     */
+    public static int slotsFor(int count, int hotels, int roomsPerHotel) {
+        int rooms = hotels * roomsPerHotel;
+        return (count + rooms - 1) / rooms;
+    }
+
+    /**
+     * Returns the customer ID of the booking with the given index, if the system had no customers
+     * before the first call of {@link #bookSequential} and that call made at least {@link #CUSTOMERS} bookings.
+     *
+     * @param index the index of the booking
+     * @return the customer ID
+     */
+    public static int customerId(int index) {
+        return index % CUSTOMERS + 1;
+    }
+
+    /**
+     * Generates random date ranges.
+     *
+     * @param count the number of ranges
+     * @param horizonDays the number of days after {@link #FIRST_DAY} the ranges start in
+     * @param maxNights the maximum number of nights of a range
+     * @return the ranges
+     */
+    public static DateRange[] ranges(int count, int horizonDays, int maxNights) {
+        Random random = new Random(SEED);
+        DateRange[] ranges = new DateRange[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate from = FIRST_DAY.plusDays(random.nextInt(horizonDays));
+            ranges[i] = new DateRange(from, from.plusDays(1 + random.nextInt(maxNights)));
+        }
+        return ranges;
+    }
+
+    /**
+     * Generates a mix of command lines on a catalog created by {@link #catalog}, dominated by searches.
+     *
+     * @param count the number of lines
+     * @param cities the number of cities of the catalog
+     * @param hotels the number of hotels of the catalog
+     * @param roomsPerHotel the number of rooms of every hotel of the catalog
+     * @param horizonDays the number of days after {@link #FIRST_DAY} the date ranges start in
+     * @return the command lines
+     */
+    public static String[] commandLines(int count, int cities, int hotels, int roomsPerHotel, int horizonDays) {
+        Random random = new Random(SEED);
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate from = FIRST_DAY.plusDays(random.nextInt(horizonDays));
+            String range = from + SPACE + from.plusDays(1 + random.nextInt(NIGHTS_PER_SLOT * 2));
+            String city = CITY_PREFIX + random.nextInt(cities);
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            int kind = random.nextInt(PERCENT);
+            if (kind < FIND_AVAILABLE_PERCENT) {
+                lines[i] = "find available " + city + SPACE + category + SPACE + range;
+            } else if (kind < FIND_CHEAPEST_PERCENT) {
+                lines[i] = "find cheapest " + city + SPACE + category + SPACE + range;
+            } else if (kind < BOOK_PERCENT) {
+                lines[i] = "book " + (1 + random.nextInt(hotels)) + SPACE + (1 + random.nextInt(roomsPerHotel))
+                        + SPACE + range + SPACE + FIRST_NAME_PREFIX + random.nextInt(CUSTOMERS) + SPACE + LAST_NAME;
+            } else if (kind < CANCEL_PERCENT) {
+                lines[i] = "cancel " + (1 + random.nextInt(count)) + SPACE + (1 + random.nextInt(CUSTOMERS));
+            } else {
+                lines[i] = "list bookings";
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,86 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.BookingSystem;
+import command.Command;
+import command.CommandDispatcher;
+import command.MutationLog;
+import command.OutputSink;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Booking system driven through its regular commands, by default with all output discarded.
+ *
+ * @author ujnaa
+ */
+public final class BenchmarkSystem {
+
+    private static final String WHITESPACE = "\\s+";
+
+    private final CommandDispatcher dispatcher;
+
+    /**
+     * Constructs an empty system.
+     *
+     * @param engine the availability engine used by all rooms
+     * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+     */
+    public BenchmarkSystem(AvailabilityEngine engine, int parallelSearchThreshold) {
+        this(engine, parallelSearchThreshold, new OutputSink(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructs an empty system writing the output of its commands to the given sink.
+     *
+     * @param engine the availability engine used by all rooms
+     * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+     * @param output the sink receiving the output of the commands
+     */
+    public BenchmarkSystem(AvailabilityEngine engine, int parallelSearchThreshold, OutputSink output) {
+        BookingSystem system = new BookingSystem(engine, parallelSearchThreshold);
+        this.dispatcher = new CommandDispatcher(system.createCommands(output, MutationLog.NONE, () -> { }));
+    }
+
+    /**
+     * Returns the dispatcher resolving the commands of this system.
+     *
+     * @return the dispatcher
+     */
+    public CommandDispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Executes a command line.
+     *
+     * @param line the command line
+     */
+    public void run(String line) {
+        run(tokens(line));
+    }
+
+    /**
+     * Executes an already tokenized command line.
+     *
+     * @param args the tokens of the command line
+     */
+    public void run(String[] args) {
+        Command command = dispatcher.resolve(args);
+        if (command == null) {
+            throw new IllegalArgumentException(String.join(" ", args));
+        }
+        command.execute(args);
+    }
+
+    /**
+     * Splits a command line into tokens the way the console does.
+     *
+     * @param line the command line
+     * @return the tokens
+     */
+    public static String[] tokens(String line) {
+        return line.trim().split(WHITESPACE);
+    }
+}
@@ -0,0 +1,85 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code cancel} in a system that already holds many bookings.
+ * Every iteration books a fresh batch and then cancels all of it in one invocation,
+ * so the reported time is the average time of a single cancellation.
+ *
+ * @author ujnaa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CancelBenchmark {
+
+    private static final int CANCELLATIONS = 100_000;
+    private static final int HOTELS = 100;
+    private static final int ROOMS_PER_HOTEL = 100;
+    private static final int CITIES = 10;
+
+    /** Number of bookings made before the first iteration. */
+    @Param({"100000", "1000000"})
+    public int existingBookings;
+
+    private BenchmarkSystem system;
+    private String[][] cancellations;
+    private int nextBookingId;
+    private int nextSlot;
+
+    /**
+     * Creates the catalog and the existing bookings.
+     */
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        system = BenchmarkData.catalog(AvailabilityEngine.INTERVAL, Integer.MAX_VALUE, CITIES, HOTELS, ROOMS_PER_HOTEL);
+        BenchmarkData.bookSequential(system, existingBookings, HOTELS, ROOMS_PER_HOTEL, 0);
+        nextBookingId = existingBookings + 1;
+        nextSlot = BenchmarkData.slotsFor(existingBookings, HOTELS, ROOMS_PER_HOTEL);
+    }
+
+    /**
+     * Books the batch cancelled by the next iteration.
+     */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        BenchmarkData.bookSequential(system, CANCELLATIONS, HOTELS, ROOMS_PER_HOTEL, nextSlot);
+        nextSlot += BenchmarkData.slotsFor(CANCELLATIONS, HOTELS, ROOMS_PER_HOTEL);
+        cancellations = new String[CANCELLATIONS][];
+        for (int i = 0; i < CANCELLATIONS; i++) {
+            cancellations[i] = new String[] {"cancel", Integer.toString(nextBookingId + i),
+                Integer.toString(BenchmarkData.customerId(i))};
+        }
+        nextBookingId += CANCELLATIONS;
+    }
+
+    /**
+     * Cancels the batch booked for this iteration.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CANCELLATIONS)
+    public void cancel() {
+        for (String[] cancellation : cancellations) {
+            system.run(cancellation);
+        }
+    }
+}
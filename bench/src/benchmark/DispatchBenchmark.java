@@ -0,0 +1,89 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import command.CommandDispatcher;
+import command.LineReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading, tokenizing, and resolving command lines without executing them.
+ * The {@code scanner} benchmark repeats the approach of the original console loop,
+ * a {@link Scanner} with a regular expression split, as the baseline for {@code lineReader}.
+ *
+ * @author ujnaa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final int CITIES = 10;
+    private static final int HOTELS = 100;
+    private static final int ROOMS_PER_HOTEL = 30;
+    private static final int HORIZON_DAYS = 365;
+    private static final String LINE_END = "\n";
+
+    /** Number of command lines read per invocation. */
+    @Param({"1000", "100000"})
+    public int lines;
+
+    private CommandDispatcher dispatcher;
+    private byte[] input;
+
+    /**
+     * Creates the dispatcher and the input.
+     */
+    @Setup
+    public void setUp() {
+        dispatcher = new BenchmarkSystem(AvailabilityEngine.INTERVAL, Integer.MAX_VALUE).dispatcher();
+        String[] commandLines = BenchmarkData.commandLines(lines, CITIES, HOTELS, ROOMS_PER_HOTEL, HORIZON_DAYS);
+        input = (String.join(LINE_END, commandLines) + LINE_END).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads and resolves all lines with the line reader of the console.
+     *
+     * @param blackhole the sink of the resolved commands
+     * @throws IOException never, the input is in memory
+     */
+    @Benchmark
+    public void lineReader(Blackhole blackhole) throws IOException {
+        LineReader reader = new LineReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8);
+        while (reader.nextLine()) {
+            blackhole.consume(dispatcher.resolve(reader.tokens()));
+        }
+    }
+
+    /**
+     * Reads and resolves all lines with a scanner and a regular expression split.
+     *
+     * @param blackhole the sink of the resolved commands
+     */
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        Scanner scanner = new Scanner(new ByteArrayInputStream(input), StandardCharsets.UTF_8);
+        while (scanner.hasNextLine()) {
+            blackhole.consume(dispatcher.resolve(BenchmarkSystem.tokens(scanner.nextLine())));
+        }
+    }
+}
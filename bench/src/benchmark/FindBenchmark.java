@@ -0,0 +1,93 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.DateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code find available} and {@code find cheapest} on catalogs of growing size.
+ * All hotels lie in one city, so a query touches a third of all rooms. Each room is booked
+ * for a number of two-night slots at the start of the query horizon.
+ *
+ * @author ujnaa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindBenchmark {
+
+    private static final int ROOMS_PER_HOTEL = 30;
+    private static final int QUERIES = 1 << 10;
+    private static final int QUERY_MASK = QUERIES - 1;
+    private static final int HORIZON_DAYS = 60;
+    private static final int MAX_QUERY_NIGHTS = 7;
+    private static final String CITY = BenchmarkData.CITY_PREFIX + 0;
+    private static final String[] CATEGORIES = {"Single", "Double", "Suite"};
+
+    /** Number of hotels of the catalog. */
+    @Param({"10", "100", "1000"})
+    public int hotels;
+
+    /** Number of bookings of every room. */
+    @Param({"0", "8"})
+    public int bookingsPerRoom;
+
+    /** Number of rooms of one city and category from which searches run in parallel. */
+    @Param({"4096", "2147483647"})
+    public int parallelThreshold;
+
+    private BenchmarkSystem system;
+    private String[][] findAvailable;
+    private String[][] findCheapest;
+    private int next;
+
+    /**
+     * Creates the catalog, its bookings, and the queries.
+     */
+    @Setup
+    public void setUp() {
+        system = BenchmarkData.catalog(AvailabilityEngine.INTERVAL, parallelThreshold, 1, hotels, ROOMS_PER_HOTEL);
+        BenchmarkData.bookSequential(system, hotels * ROOMS_PER_HOTEL * bookingsPerRoom, hotels, ROOMS_PER_HOTEL, 0);
+        DateRange[] ranges = BenchmarkData.ranges(QUERIES, HORIZON_DAYS, MAX_QUERY_NIGHTS);
+        findAvailable = new String[QUERIES][];
+        findCheapest = new String[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            String from = ranges[i].from().toString();
+            String to = ranges[i].to().toString();
+            findAvailable[i] = new String[] {"find", "available", CITY, category, from, to};
+            findCheapest[i] = new String[] {"find", "cheapest", CITY, category, from, to};
+        }
+    }
+
+    /**
+     * Executes the next {@code find available} query.
+     */
+    @Benchmark
+    public void findAvailable() {
+        system.run(findAvailable[next++ & QUERY_MASK]);
+    }
+
+    /**
+     * Executes the next {@code find cheapest} query.
+     */
+    @Benchmark
+    public void findCheapest() {
+        system.run(findCheapest[next++ & QUERY_MASK]);
+    }
+}
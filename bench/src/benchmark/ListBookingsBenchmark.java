@@ -0,0 +1,71 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code list bookings} when a growing share of all bookings is cancelled.
+ *
+ * @author ujnaa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBookingsBenchmark {
+
+    private static final int HOTELS = 100;
+    private static final int ROOMS_PER_HOTEL = 100;
+    private static final int CITIES = 10;
+    private static final int PERCENT = 100;
+    private static final String[] LIST_BOOKINGS = {"list", "bookings"};
+
+    /** Number of bookings, including the cancelled ones. */
+    @Param({"10000", "100000"})
+    public int bookings;
+
+    /** Percentage of cancelled bookings. */
+    @Param({"0", "50", "90"})
+    public int cancelledPercent;
+
+    private BenchmarkSystem system;
+
+    /**
+     * Creates the bookings and cancels a random share of them.
+     */
+    @Setup
+    public void setUp() {
+        system = BenchmarkData.catalog(AvailabilityEngine.INTERVAL, Integer.MAX_VALUE, CITIES, HOTELS, ROOMS_PER_HOTEL);
+        BenchmarkData.bookSequential(system, bookings, HOTELS, ROOMS_PER_HOTEL, 0);
+        Random random = new Random(BenchmarkData.SEED);
+        for (int i = 0; i < bookings; i++) {
+            if (random.nextInt(PERCENT) < cancelledPercent) {
+                system.run(new String[] {"cancel", Integer.toString(i + 1),
+                    Integer.toString(BenchmarkData.customerId(i))});
+            }
+        }
+    }
+
+    /**
+     * Lists all active bookings.
+     */
+    @Benchmark
+    public void listBookings() {
+        system.run(LIST_BOOKINGS);
+    }
+}
@@ -0,0 +1,166 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.RoomSearchIndex;
+import command.Command;
+import command.CommandDispatcher;
+import command.LineReader;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Replays a command file through an in-memory system and reports the throughput
+ * and the latency percentiles of every command type.
+ * Latencies are measured around {@link Command#execute(String[])}; reading and resolving the lines
+ * only counts towards the overall throughput. The rate of every command type is its count divided by
+ * the wall-clock time of the whole replay. The output of the commands is discarded.
+ *
+ * @author ujnaa
+ */
+public final class ReplayDriver {
+
+    /** Usage of the driver's command-line arguments. */
+    public static final String USAGE = "[--engine=<interval|bitmap>] [--parallel-threshold=<Rooms>] <CommandFile>";
+    /** Error message when the driver is started with unsupported arguments. */
+    public static final String ERROR_USAGE = "Error, usage: ReplayDriver " + USAGE;
+    /** Error message when the command file cannot be read. */
+    public static final String ERROR_INPUT_IO = "Error, command file access failed: ";
+
+    private static final String OPTION_ENGINE = "--engine=";
+    private static final String OPTION_PARALLEL_THRESHOLD = "--parallel-threshold=";
+    private static final String UNKNOWN_COMMAND = "<unknown>";
+    private static final String SUMMARY_FORMAT = "%d commands in %.3f s, %.0f commands/s%n";
+    private static final String HEADER_FORMAT = "%-16s %10s %12s %10s %10s %10s %10s %10s%n";
+    private static final String ROW_FORMAT = "%-16s %10d %12.0f %10.1f %10.1f %10.1f %10.1f %10.1f%n";
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double P50 = 0.5;
+    private static final double P90 = 0.9;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+
+    private ReplayDriver() {
+        // prevents instantiation
+    }
+
+    /**
+     * Main method for replaying a command file.
+     *
+     * @param args command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        AvailabilityEngine engine = AvailabilityEngine.INTERVAL;
+        int parallelThreshold = RoomSearchIndex.DEFAULT_PARALLEL_THRESHOLD;
+        Path file = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(OPTION_ENGINE)) {
+                    engine = AvailabilityEngine.fromString(arg.substring(OPTION_ENGINE.length()));
+                } else if (arg.startsWith(OPTION_PARALLEL_THRESHOLD)) {
+                    parallelThreshold = Integer.parseInt(arg.substring(OPTION_PARALLEL_THRESHOLD.length()));
+                } else if (file == null) {
+                    file = Path.of(arg);
+                } else {
+                    file = null;
+                    break;
+                }
+            }
+        } catch (NumberFormatException | InvalidPathException e) {
+            file = null;
+        }
+        if (engine == null || file == null || parallelThreshold < 0) {
+            System.out.println(ERROR_USAGE);
+            return;
+        }
+        try {
+            replay(file, new BenchmarkSystem(engine, parallelThreshold));
+        } catch (IOException e) {
+            System.out.println(ERROR_INPUT_IO + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the command file and prints the report to standard output.
+     *
+     * @param file the command file
+     * @param system the system to replay into
+     * @throws IOException if the command file cannot be read
+     */
+    public static void replay(Path file, BenchmarkSystem system) throws IOException {
+        CommandDispatcher dispatcher = system.dispatcher();
+        Map<String, Recorder> recorders = new TreeMap<>();
+        long total = 0;
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LineReader reader = new LineReader(channel, StandardCharsets.UTF_8);
+            while (reader.nextLine()) {
+                String[] parts = reader.tokens();
+                Command command = dispatcher.resolve(parts);
+                long before = System.nanoTime();
+                if (command != null) {
+                    command.execute(parts);
+                }
+                long latency = System.nanoTime() - before;
+                String type = command == null ? UNKNOWN_COMMAND : command.keyword();
+                recorders.computeIfAbsent(type, key -> new Recorder()).add(latency);
+                total++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+        System.out.printf(SUMMARY_FORMAT, total, seconds, total / seconds);
+        System.out.printf(HEADER_FORMAT, "command", "count", "ops/s",
+                "p50 us", "p90 us", "p99 us", "p999 us", "max us");
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Recorder recorder = entry.getValue();
+            recorder.sort();
+            System.out.printf(ROW_FORMAT, entry.getKey(), recorder.count,
+                    recorder.count / seconds,
+                    micros(recorder.percentile(P50)), micros(recorder.percentile(P90)),
+                    micros(recorder.percentile(P99)), micros(recorder.percentile(P999)),
+                    micros(recorder.percentile(1)));
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / NANOS_PER_MICRO;
+    }
+
+    /**
+     * All latencies of one command type, kept exactly so that the percentiles are exact.
+     */
+    private static final class Recorder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final int GROWTH_FACTOR = 2;
+
+        private long[] latencies = new long[INITIAL_CAPACITY];
+        private int count;
+
+        private void add(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * GROWTH_FACTOR);
+            }
+            latencies[count++] = latency;
+        }
+
+        private void sort() {
+            Arrays.sort(latencies, 0, count);
+        }
+
+        /**
+         * Returns the latency at the given quantile of the sorted latencies by the nearest-rank method.
+         */
+        private long percentile(double quantile) {
+            int rank = (int) Math.ceil(quantile * count);
+            return latencies[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.Booking;
+import booking.Customer;
+import booking.DateRange;
+import booking.Room;
+import booking.RoomCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Room#isAvailable(DateRange)} for rooms with a growing number of bookings.
+ * Every third night of the room is free, so the queries mix hits and misses.
+ * A second benchmark books one of the free nights and cancels it again, which measures the cost of
+ * publishing a changed availability index for a room of that size.
+ *
+ * @author ujnaa
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoomAvailabilityBenchmark {
+
+    private static final int QUERIES = 1 << 12;
+    private static final int QUERY_MASK = QUERIES - 1;
+    private static final int NIGHTS_PER_BOOKING = 2;
+    private static final int DAYS_PER_BOOKING = 3;
+    private static final int MAX_QUERY_NIGHTS = 5;
+    private static final double PRICE = 100.0;
+
+    /** Number of bookings of the room. */
+    @Param({"1", "16", "256", "4096"})
+    public int bookings;
+
+    /** Availability engine of the room. */
+    @Param({"INTERVAL", "BITMAP"})
+    public AvailabilityEngine engine;
+
+    private Room room;
+    private DateRange[] queries;
+    private Booking[] freeNights;
+    private int next;
+
+    /**
+     * Creates the room and the queries.
+     */
+    @Setup
+    public void setUp() {
+        room = new Room(1, RoomCategory.SINGLE, PRICE, engine);
+        Customer customer = new Customer(1, "Bench", "Customer");
+        for (int i = 0; i < bookings; i++) {
+            LocalDate from = BenchmarkData.FIRST_DAY.plusDays((long) i * DAYS_PER_BOOKING);
+            room.addBooking(new Booking(i + 1, customer, new DateRange(from, from.plusDays(NIGHTS_PER_BOOKING))));
+        }
+        queries = BenchmarkData.ranges(QUERIES, bookings * DAYS_PER_BOOKING + 1, MAX_QUERY_NIGHTS);
+        freeNights = new Booking[bookings];
+        for (int i = 0; i < bookings; i++) {
+            LocalDate night = BenchmarkData.FIRST_DAY.plusDays((long) i * DAYS_PER_BOOKING + NIGHTS_PER_BOOKING);
+            freeNights[i] = new Booking(bookings + i + 1, customer, new DateRange(night, night.plusDays(1)));
+        }
+    }
+
+    /**
+     * Checks the availability for the next query.
+     *
+     * @return whether the room is available
+     */
+    @Benchmark
+    public boolean isAvailable() {
+        return room.isAvailable(queries[next++ & QUERY_MASK]);
+    }
+
+    /**
+     * Books the next free night of the room and cancels the booking again.
+     *
+     * @return the room
+     */
+    @Benchmark
+    public Room bookAndCancel() {
+        Booking booking = freeNights[Math.floorMod(next++, bookings)];
+        room.addBooking(booking);
+        room.removeBooking(booking.bookingId());
+        return room;
+    }
+}
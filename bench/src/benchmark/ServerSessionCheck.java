@@ -0,0 +1,205 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import booking.BookingSystem;
+import booking.HotelBookingClient;
+import booking.HotelBookingServer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end check of the {@link HotelBookingServer} through loopback {@link HotelBookingClient}s.
+ * Many clients run the same script concurrently against one server, each on its own hotel and customer,
+ * so the output every connection must receive is known exactly even though the sessions interleave.
+ * Part of the script is sent without waiting for answers, so the output of pipelined commands is checked
+ * as well. Afterwards, the booking and customer IDs handed out to all clients must be distinct.
+ * Every deviation is printed; the last line is {@value #MESSAGE_PASSED} or {@value #MESSAGE_FAILED}.
+ *
+ * @author ujnaa
+ */
+public final class ServerSessionCheck {
+
+    /** Usage of the check's command-line arguments. */
+    public static final String USAGE = "[<Clients>]";
+    /** Error message when the check is started with unsupported arguments. */
+    public static final String ERROR_USAGE = "Error, usage: ServerSessionCheck " + USAGE;
+    /** Error message when a connection received unexpected output. */
+    public static final String ERROR_UNEXPECTED_OUTPUT = "Error, client %d expected \"%s\" but received \"%s\"%n";
+    /** Error message when an ID was handed out to more than one client. */
+    public static final String ERROR_DUPLICATE_ID = "Error, %s ID %d was handed out twice%n";
+    /** Error message when the server or a connection failed. */
+    public static final String ERROR_SERVER_IO = "Error, server check failed: ";
+    /** Message printed when all connections received exactly their expected output. */
+    public static final String MESSAGE_PASSED = "passed";
+    /** Message printed when any deviation was found. */
+    public static final String MESSAGE_FAILED = "failed";
+
+    private static final int DEFAULT_CLIENTS = 256;
+    private static final int FIRST_HOTEL_ID = 1000;
+    private static final int PIPELINED_LISTS = 32;
+    private static final String OK = "OK";
+    private static final String ERROR_UNKNOWN_COMMAND = "Error, unknown command";
+    private static final String ERROR_ROOM_NOT_AVAILABLE = "Error, room not available";
+    private static final String END_OF_SESSION = "<end of session>";
+    private static final String BOOKING_FORMAT = "%d %d 2030-01-01 2030-01-03";
+    private static final String ID_SEPARATOR = " ";
+    private static final String BOOKING = "booking";
+    private static final String CUSTOMER = "customer";
+
+    private ServerSessionCheck() {
+        // prevents instantiation
+    }
+
+    /**
+     * Main method for running the check against an in-process server.
+     *
+     * @param args command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        int clients = DEFAULT_CLIENTS;
+        try {
+            if (args.length == 1) {
+                clients = Integer.parseInt(args[0]);
+            }
+        } catch (NumberFormatException e) {
+            clients = 0;
+        }
+        if (args.length > 1 || clients <= 0) {
+            System.out.println(ERROR_USAGE);
+            return;
+        }
+        try {
+            System.out.println(run(clients) ? MESSAGE_PASSED : MESSAGE_FAILED);
+        } catch (IOException | ExecutionException e) {
+            System.out.println(ERROR_SERVER_IO + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the given number of clients concurrently against a new server and prints every deviation.
+     *
+     * @param clients the number of concurrent clients
+     * @return true if every connection received exactly its expected output and all IDs are distinct
+     * @throws IOException if the server cannot be started
+     * @throws ExecutionException if a connection failed
+     * @throws InterruptedException if the check is interrupted
+     */
+    public static boolean run(int clients) throws IOException, ExecutionException, InterruptedException {
+        HotelBookingServer server = new HotelBookingServer(new BookingSystem(AvailabilityEngine.INTERVAL), 0);
+        Thread acceptor = Thread.ofVirtual().start(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                System.out.println(ERROR_SERVER_IO + e.getMessage());
+            }
+        });
+        List<Future<Session>> sessions = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                int index = client;
+                sessions.add(executor.submit(() -> runClient(server.getPort(), index)));
+            }
+        } finally {
+            server.close();
+            acceptor.join();
+        }
+        boolean passed = true;
+        Set<Integer> bookingIds = new HashSet<>();
+        Set<Integer> customerIds = new HashSet<>();
+        for (Future<Session> future : sessions) {
+            Session session = future.get();
+            passed &= session.passed;
+            passed &= checkUnique(bookingIds, session.bookingId, BOOKING);
+            passed &= checkUnique(customerIds, session.customerId, CUSTOMER);
+        }
+        return passed;
+    }
+
+    private static Session runClient(int port, int index) throws IOException {
+        Session session = new Session(index);
+        int hotelId = FIRST_HOTEL_ID + index;
+        String city = "City" + index;
+        try (HotelBookingClient client = new HotelBookingClient(port)) {
+            session.exchange(client, "add hotel " + hotelId + " " + city, OK);
+            session.exchange(client, "add room " + hotelId + " 1 Single 10", OK);
+            session.exchange(client, "snapshot session" + index + ".snap", ERROR_UNKNOWN_COMMAND);
+
+            client.send("book " + hotelId + " 1 2030-01-01 2030-01-03 First" + index + " Last");
+            String booked = client.receive();
+            String[] ids = booked == null ? new String[0] : booked.split(ID_SEPARATOR);
+            try {
+                session.bookingId = Integer.parseInt(ids[0]);
+                session.customerId = Integer.parseInt(ids[1]);
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                session.fail("<booking ID> <customer ID>", booked);
+                return session;
+            }
+            session.exchange(client, "book " + hotelId + " 1 2030-01-02 2030-01-04 First" + index + " Last",
+                    ERROR_ROOM_NOT_AVAILABLE);
+
+            String booking = BOOKING_FORMAT.formatted(session.bookingId, session.customerId);
+            for (int i = 0; i < PIPELINED_LISTS; i++) {
+                client.send("list bookings " + session.customerId);
+            }
+            client.send("cancel " + session.bookingId + " " + session.customerId);
+            client.send("list bookings " + session.customerId);
+            client.send("quit");
+            for (int i = 0; i < PIPELINED_LISTS; i++) {
+                session.expect(client.receive(), booking);
+            }
+            session.expect(client.receive(), OK);
+            session.expect(Objects.requireNonNullElse(client.receive(), END_OF_SESSION), END_OF_SESSION);
+        }
+        return session;
+    }
+
+    private static boolean checkUnique(Set<Integer> ids, int id, String kind) {
+        if (ids.add(id)) {
+            return true;
+        }
+        System.out.printf(ERROR_DUPLICATE_ID, kind, id);
+        return false;
+    }
+
+    /**
+     * Outcome of the script of one client.
+     */
+    private static final class Session {
+
+        private final int index;
+        private boolean passed = true;
+        private int bookingId;
+        private int customerId;
+
+        private Session(int index) {
+            this.index = index;
+        }
+
+        private void exchange(HotelBookingClient client, String line, String expected) throws IOException {
+            client.send(line);
+            expect(client.receive(), expected);
+        }
+
+        private void expect(String received, String expected) {
+            if (!expected.equals(received)) {
+                fail(expected, received);
+            }
+        }
+
+        private void fail(String expected, String received) {
+            System.out.printf(ERROR_UNEXPECTED_OUTPUT, index, expected, received);
+            passed = false;
+        }
+    }
+}
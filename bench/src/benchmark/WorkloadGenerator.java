@@ -0,0 +1,203 @@
+package benchmark;
+
+import booking.AvailabilityEngine;
+import command.OutputSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates synthetic command streams in the console syntax.
+ * The stream starts with the {@code add hotel} and {@code add room} commands of the catalog, followed by
+ * a mix of {@code find available}, {@code find cheapest}, {@code book}, and {@code cancel} commands shaped by a
+ * {@link WorkloadSpec}. Every write is also executed on a shadow system, so cancellations always name an
+ * active booking with its real customer ID, just as a client that read the booking confirmation would.
+ * The stream ends with {@code quit} and only uses commands of the original console syntax, so the same file
+ * can be piped into every version of the program, including the one before the benchmark module existed.
+ *
+ * @author ujnaa
+ */
+public final class WorkloadGenerator {
+
+    /** Error message when the generator is started with unsupported arguments. */
+    public static final String ERROR_USAGE = "Error, usage: WorkloadGenerator " + WorkloadSpec.USAGE;
+    /** Error message when the output file cannot be written. */
+    public static final String ERROR_OUTPUT_IO = "Error, workload output failed: ";
+
+    private static final Charset OUTPUT_CHARSET = StandardCharsets.UTF_8;
+    private static final String[] CATEGORIES = {"Single", "Double", "Suite"};
+    private static final String SPACE = " ";
+    private static final String QUIT = "quit";
+    private static final String FIRST_NAME_PREFIX = "First";
+    private static final String LAST_NAME_PREFIX = "Last";
+    private static final int NAME_SPLIT = 100;
+    private static final int MIN_PRICE_CENTS = 4_000;
+    private static final int CATEGORY_PRICE_STEP_CENTS = 6_000;
+    private static final int PRICE_RANGE_CENTS = 8_000;
+    private static final double CENTS_PER_UNIT = 100.0;
+    private static final double FIND_CHEAPEST_SHARE = 0.5;
+    private static final int INDEX_BOOKING_ID = 0;
+    private static final int INDEX_CUSTOMER_ID = 1;
+
+    private final WorkloadSpec spec;
+    private final Random random;
+    private final double[] categoryCumulative;
+    private final ByteArrayOutputStream shadowBytes = new ByteArrayOutputStream();
+    private final OutputSink shadowOutput = new OutputSink(shadowBytes, OUTPUT_CHARSET);
+    private final BenchmarkSystem shadow;
+    private final List<int[]> activeBookings = new ArrayList<>();
+
+    /**
+     * Constructs a generator for the given workload.
+     *
+     * @param spec the shape of the workload
+     */
+    public WorkloadGenerator(WorkloadSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.seed());
+        this.categoryCumulative = zipfCumulative(CATEGORIES.length, spec.categorySkew());
+        this.shadow = new BenchmarkSystem(AvailabilityEngine.INTERVAL, Integer.MAX_VALUE, shadowOutput);
+    }
+
+    /**
+     * Main method for generating a workload.
+     *
+     * @param args command-line arguments, see {@link WorkloadSpec#USAGE}
+     */
+    public static void main(String[] args) {
+        WorkloadSpec spec = WorkloadSpec.parse(args);
+        if (spec == null) {
+            System.out.println(ERROR_USAGE);
+            return;
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(spec);
+        if (spec.output() == null) {
+            generator.generate(new OutputSink(System.out, OUTPUT_CHARSET));
+            return;
+        }
+        try (OutputStream out = Files.newOutputStream(spec.output())) {
+            OutputSink output = new OutputSink(out, OUTPUT_CHARSET);
+            generator.generate(output);
+            if (output.checkError()) {
+                System.out.println(ERROR_OUTPUT_IO + spec.output());
+            }
+        } catch (IOException e) {
+            System.out.println(ERROR_OUTPUT_IO + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the complete workload.
+     *
+     * @param output the sink receiving the command lines
+     */
+    public void generate(OutputSink output) {
+        for (int hotel = 1; hotel <= spec.hotels(); hotel++) {
+            write(output, "add hotel " + hotel + SPACE + city(hotel % spec.cities()));
+            for (int room = 1; room <= spec.roomsPerHotel(); room++) {
+                int category = category();
+                int cents = MIN_PRICE_CENTS + category * CATEGORY_PRICE_STEP_CENTS + random.nextInt(PRICE_RANGE_CENTS);
+                write(output, "add room " + hotel + SPACE + room + SPACE + CATEGORIES[category]
+                        + SPACE + cents / CENTS_PER_UNIT);
+            }
+        }
+        double queryShare = spec.queryRatio() / (1 + spec.queryRatio());
+        for (int i = 0; i < spec.commands(); i++) {
+            if (random.nextDouble() < queryShare) {
+                String keyword = random.nextDouble() < FIND_CHEAPEST_SHARE ? "find cheapest " : "find available ";
+                output.println(keyword + city(random.nextInt(spec.cities())) + SPACE
+                        + CATEGORIES[category()] + SPACE + stay());
+            } else if (!activeBookings.isEmpty() && random.nextDouble() < spec.cancelRatio()) {
+                cancel(output);
+            } else {
+                book(output);
+            }
+        }
+        output.println(QUIT);
+        output.flush();
+    }
+
+    private void book(OutputSink output) {
+        int customer = random.nextInt(spec.customers());
+        String response = write(output, "book " + (1 + random.nextInt(spec.hotels())) + SPACE
+                + (1 + random.nextInt(spec.roomsPerHotel())) + SPACE + stay() + SPACE
+                + FIRST_NAME_PREFIX + customer / NAME_SPLIT + SPACE + LAST_NAME_PREFIX + customer % NAME_SPLIT);
+        if (!response.isEmpty() && Character.isDigit(response.charAt(0))) {
+            String[] ids = response.split(SPACE);
+            activeBookings.add(new int[] {Integer.parseInt(ids[INDEX_BOOKING_ID]),
+                Integer.parseInt(ids[INDEX_CUSTOMER_ID])});
+        }
+    }
+
+    private void cancel(OutputSink output) {
+        int index = random.nextInt(activeBookings.size());
+        int[] booking = activeBookings.get(index);
+        int last = activeBookings.size() - 1;
+        activeBookings.set(index, activeBookings.get(last));
+        activeBookings.remove(last);
+        write(output, "cancel " + booking[INDEX_BOOKING_ID] + SPACE + booking[INDEX_CUSTOMER_ID]);
+    }
+
+    /**
+     * Writes a command line and executes it on the shadow system.
+     *
+     * @return the output of the command without the line separator
+     */
+    private String write(OutputSink output, String line) {
+        output.println(line);
+        shadow.run(line);
+        shadowOutput.flush();
+        String response = shadowBytes.toString(OUTPUT_CHARSET).strip();
+        shadowBytes.reset();
+        return response;
+    }
+
+    private static String city(int index) {
+        return BenchmarkData.CITY_PREFIX + index;
+    }
+
+    /**
+     * Returns the start and end date of a random stay, separated by a space.
+     * Stay lengths are geometrically distributed with the configured mean and cut off at the maximum.
+     */
+    private String stay() {
+        LocalDate from = BenchmarkData.FIRST_DAY.plusDays(random.nextInt(spec.horizonDays()));
+        int nights = 1;
+        if (spec.meanStay() > 1) {
+            double continueProbability = 1 - 1 / spec.meanStay();
+            nights += (int) (Math.log(1 - random.nextDouble()) / Math.log(continueProbability));
+        }
+        return from + SPACE + from.plusDays(Math.min(nights, spec.maxStay()));
+    }
+
+    private int category() {
+        double value = random.nextDouble();
+        for (int i = 0; i < categoryCumulative.length - 1; i++) {
+            if (value < categoryCumulative[i]) {
+                return i;
+            }
+        }
+        return categoryCumulative.length - 1;
+    }
+
+    private static double[] zipfCumulative(int count, double exponent) {
+        double[] cumulative = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,114 @@
+package benchmark;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Shape of a synthetic workload, parsed from the command-line options of {@link WorkloadGenerator}.
+ *
+ * @param commands the number of commands after the catalog has been created
+ * @param hotels the number of hotels, at most 99999
+ * @param roomsPerHotel the number of rooms of every hotel
+ * @param cities the number of cities the hotels are spread over
+ * @param categorySkew the exponent of the Zipf distribution of room categories in rooms and searches,
+ *                     0 for equally frequent categories
+ * @param horizonDays the number of days into the future that stays start in
+ * @param meanStay the mean number of nights of a stay, which is geometrically distributed
+ * @param maxStay the maximum number of nights of a stay
+ * @param cancelRatio the share of writes that cancel an active booking instead of booking
+ * @param queryRatio the number of searches per write
+ * @param customers the number of distinct customers
+ * @param seed the seed of the random generator
+ * @param output the file to write the commands to, or null for standard output
+ * @author ujnaa
+ */
+record WorkloadSpec(int commands, int hotels, int roomsPerHotel, int cities, double categorySkew,
+                    int horizonDays, double meanStay, int maxStay, double cancelRatio, double queryRatio,
+                    int customers, long seed, Path output) {
+
+    /** Usage of the generator's command-line options. */
+    static final String USAGE = "[--commands=<N>] [--hotels=<N>] [--rooms-per-hotel=<N>] [--cities=<N>]"
+            + " [--category-skew=<Exponent>] [--horizon=<Days>] [--mean-stay=<Nights>] [--max-stay=<Nights>]"
+            + " [--cancel-ratio=<Share>] [--query-ratio=<SearchesPerWrite>] [--customers=<N>] [--seed=<N>]"
+            + " [--output=<File>]";
+
+    private static final String OPTION_COMMANDS = "--commands=";
+    private static final String OPTION_HOTELS = "--hotels=";
+    private static final String OPTION_ROOMS_PER_HOTEL = "--rooms-per-hotel=";
+    private static final String OPTION_CITIES = "--cities=";
+    private static final String OPTION_CATEGORY_SKEW = "--category-skew=";
+    private static final String OPTION_HORIZON = "--horizon=";
+    private static final String OPTION_MEAN_STAY = "--mean-stay=";
+    private static final String OPTION_MAX_STAY = "--max-stay=";
+    private static final String OPTION_CANCEL_RATIO = "--cancel-ratio=";
+    private static final String OPTION_QUERY_RATIO = "--query-ratio=";
+    private static final String OPTION_CUSTOMERS = "--customers=";
+    private static final String OPTION_SEED = "--seed=";
+    private static final String OPTION_OUTPUT = "--output=";
+    private static final int MAX_HOTELS = 99_999;
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args the command-line arguments
+     * @return the parsed workload, or null if the arguments are invalid
+     */
+    static WorkloadSpec parse(String[] args) {
+        int commands = 100_000;
+        int hotels = 100;
+        int roomsPerHotel = 50;
+        int cities = 10;
+        double categorySkew = 1.0;
+        int horizonDays = 365;
+        double meanStay = 3.0;
+        int maxStay = 14;
+        double cancelRatio = 0.2;
+        double queryRatio = 4.0;
+        int customers = 10_000;
+        long seed = BenchmarkData.SEED;
+        Path output = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(OPTION_COMMANDS)) {
+                    commands = Integer.parseInt(arg.substring(OPTION_COMMANDS.length()));
+                } else if (arg.startsWith(OPTION_HOTELS)) {
+                    hotels = Integer.parseInt(arg.substring(OPTION_HOTELS.length()));
+                } else if (arg.startsWith(OPTION_ROOMS_PER_HOTEL)) {
+                    roomsPerHotel = Integer.parseInt(arg.substring(OPTION_ROOMS_PER_HOTEL.length()));
+                } else if (arg.startsWith(OPTION_CITIES)) {
+                    cities = Integer.parseInt(arg.substring(OPTION_CITIES.length()));
+                } else if (arg.startsWith(OPTION_CATEGORY_SKEW)) {
+                    categorySkew = Double.parseDouble(arg.substring(OPTION_CATEGORY_SKEW.length()));
+                } else if (arg.startsWith(OPTION_HORIZON)) {
+                    horizonDays = Integer.parseInt(arg.substring(OPTION_HORIZON.length()));
+                } else if (arg.startsWith(OPTION_MEAN_STAY)) {
+                    meanStay = Double.parseDouble(arg.substring(OPTION_MEAN_STAY.length()));
+                } else if (arg.startsWith(OPTION_MAX_STAY)) {
+                    maxStay = Integer.parseInt(arg.substring(OPTION_MAX_STAY.length()));
+                } else if (arg.startsWith(OPTION_CANCEL_RATIO)) {
+                    cancelRatio = Double.parseDouble(arg.substring(OPTION_CANCEL_RATIO.length()));
+                } else if (arg.startsWith(OPTION_QUERY_RATIO)) {
+                    queryRatio = Double.parseDouble(arg.substring(OPTION_QUERY_RATIO.length()));
+                } else if (arg.startsWith(OPTION_CUSTOMERS)) {
+                    customers = Integer.parseInt(arg.substring(OPTION_CUSTOMERS.length()));
+                } else if (arg.startsWith(OPTION_SEED)) {
+                    seed = Long.parseLong(arg.substring(OPTION_SEED.length()));
+                } else if (arg.startsWith(OPTION_OUTPUT)) {
+                    output = Path.of(arg.substring(OPTION_OUTPUT.length()));
+                } else {
+                    return null;
+                }
+            }
+        } catch (NumberFormatException | InvalidPathException e) {
+            return null;
+        }
+        boolean valid = commands >= 0 && hotels >= 1 && hotels <= MAX_HOTELS && roomsPerHotel >= 1
+                && cities >= 1 && categorySkew >= 0 && horizonDays >= 1 && meanStay >= 1 && maxStay >= 1
+                && cancelRatio >= 0 && cancelRatio <= 1 && queryRatio >= 0 && customers >= 1;
+        if (!valid) {
+            return null;
+        }
+        return new WorkloadSpec(commands, hotels, roomsPerHotel, cities, categorySkew, horizonDays,
+                meanStay, maxStay, cancelRatio, queryRatio, customers, seed, output);
+    }
+}
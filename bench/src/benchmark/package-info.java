@@ -0,0 +1,17 @@
+/**
+ * JMH benchmarks of the command hot paths of the hotel booking system.
+ * The benchmarks live in their own IntelliJ module, {@code bench/Benchmarks.iml}, which depends on the main
+ * module and on {@code jmh-core} and {@code jmh-generator-annprocess}; annotation processing must be
+ * enabled for it (see {@code .idea/compiler.xml}) so that JMH can generate the benchmark list.
+ * Run all benchmarks through {@code org.openjdk.jmh.Main}, or pass a regular expression to select some,
+ * and override parameters with {@code -p}, for example {@code -p bookings=4096 RoomAvailability}.
+ * All test data is produced by the seeded generators in {@link benchmark.BenchmarkData},
+ * so results of different versions of the system are comparable. This only holds for versions that offer
+ * the APIs the benchmarks call, such as {@code BookingSystem}, {@code AvailabilityEngine}, and
+ * {@code CommandDispatcher}, which were introduced together with the benchmarks; the code before them cannot
+ * run the benchmarks. To compare against it, generate a command file with {@link benchmark.WorkloadGenerator}
+ * and time each version's {@code HotelBooking} reading that file from standard input.
+ *
+ * @author ujnaa
+ */
+package benchmark;
@@ -0,0 +1,53 @@
+package booking;
+
+/**
+ * Enumeration of the available per-room availability engines.
+ * The engine is chosen once at startup and used for every room created afterwards.
+ *
+ * @author ujnaa
+ */
+public enum AvailabilityEngine {
+    /** Bookings ordered by start date, answering overlap queries with a floor lookup. */
+    INTERVAL("interval"),
+
+    /** Occupied days stored as a bitmap over epoch days, answering overlap queries with word masks. */
+    BITMAP("bitmap");
+
+    private final String label;
+
+    AvailabilityEngine(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    /**
+     * Creates a new, empty availability index of this engine for one room.
+     *
+     * @return the created index
+     */
+    AvailabilityIndex createIndex() {
+        return switch (this) {
+            case INTERVAL -> BookingIntervalIndex.empty();
+            case BITMAP -> OccupancyBitmap.empty();
+        };
+    }
+
+    /**
+     * Parses an availability engine from a string.
+     *
+     * @param value the string value
+     * @return the matching engine or null if none matches
+     */
+    public static AvailabilityEngine fromString(String value) {
+        for (AvailabilityEngine engine : values()) {
+            if (engine.label.equalsIgnoreCase(value)) {
+                return engine;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package booking;
+
+/**
+ * Answers overlap queries over the bookings of a single room.
+ * Implementations are chosen per system through {@link AvailabilityEngine}.
+ * Indexes are persistent: they never change, and inserting or removing a booking returns a new index
+ * that shares all unchanged parts with the old one. {@link Room} publishes each new index in one write,
+ * while readers keep querying the index they already hold.
+ *
+ * @author ujnaa
+ */
+interface AvailabilityIndex {
+
+    /**
+     * Returns an index that additionally contains the given booking.
+     *
+     * @param booking the booking to insert
+     * @return the index with the booking
+     */
+    AvailabilityIndex insert(Booking booking);
+
+    /**
+     * Returns an index without the given booking.
+     *
+     * @param booking the booking to remove
+     * @return the index without the booking, or this index if the booking was not indexed
+     */
+    AvailabilityIndex remove(Booking booking);
+
+    /**
+     * Checks whether any indexed booking overlaps the given date range.
+     *
+     * @param range the date range to check
+     * @return true if an overlapping booking exists, false otherwise
+     */
+    boolean overlaps(DateRange range);
+}
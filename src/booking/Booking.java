@@ -21,7 +21,7 @@ public final class Booking {
     private final int bookingId;
     private final Customer customer;
     private final DateRange dateRange;
-    private boolean cancelled;
+    private volatile boolean cancelled;
 
     /**
      * Constructs a new booking.
@@ -77,9 +77,16 @@ public final class Booking {
     /**
      * Cancels the booking.
      * Once cancelled, the booking cannot be reactivated.
+     * If several threads cancel the booking at the same time, exactly one of them succeeds.
+     *
+     * @return true if this call cancelled the booking, false if it was already cancelled
      */
-    public void cancel() {
+    public synchronized boolean cancel() {
+        if (cancelled) {
+            return false;
+        }
         this.cancelled = true;
+        return true;
     }
 
     /**
@@ -0,0 +1,151 @@
+package booking;
+
+/**
+ * Interval index over the bookings of a single room.
+ * Bookings of a room never overlap, so ordering them by start date is enough to answer
+ * overlap queries with a single floor lookup in O(log n).
+ * The bookings are kept in a persistent treap: an insertion or removal copies only the nodes on the
+ * path to the changed node and shares all other nodes with the previous index, so it takes expected
+ * O(log n) time and allocation. Node priorities are derived from the start day, so the shape of
+ * the tree only depends on the indexed bookings.
+ *
+ * @author ujnaa
+ */
+final class BookingIntervalIndex implements AvailabilityIndex {
+
+    private static final long PRIORITY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final BookingIntervalIndex EMPTY = new BookingIntervalIndex(null);
+
+    private final Node root;
+
+    private BookingIntervalIndex(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns the empty index.
+     *
+     * @return the empty index
+     */
+    static BookingIntervalIndex empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public BookingIntervalIndex insert(Booking booking) {
+        return new BookingIntervalIndex(insert(root, new Node(booking, null, null)));
+    }
+
+    @Override
+    public BookingIntervalIndex remove(Booking booking) {
+        Node remaining = remove(root, booking.dateRange().from().toEpochDay(), booking);
+        return remaining == root ? this : new BookingIntervalIndex(remaining);
+    }
+
+    /**
+     * Checks whether any indexed booking overlaps the given date range.
+     * The only candidate is the booking with the latest start date before the end of the range.
+     *
+     * @param range the date range to check
+     * @return true if an overlapping booking exists, false otherwise
+     */
+    @Override
+    public boolean overlaps(DateRange range) {
+        long end = range.to().toEpochDay();
+        Node candidate = null;
+        for (Node node = root; node != null; ) {
+            if (node.start < end) {
+                candidate = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return candidate != null && candidate.end > range.from().toEpochDay();
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.start == node.start) {
+            return new Node(inserted.booking, node.left, node.right);
+        }
+        if (inserted.start < node.start) {
+            Node left = insert(node.left, inserted);
+            if (left.priority > node.priority) {
+                // rotate right, so the heap order of the priorities is kept
+                return left.with(left.left, node.with(left.right, node.right));
+            }
+            return node.with(left, node.right);
+        }
+        Node right = insert(node.right, inserted);
+        if (right.priority > node.priority) {
+            // rotate left, so the heap order of the priorities is kept
+            return right.with(node.with(node.left, right.left), right.right);
+        }
+        return node.with(node.left, right);
+    }
+
+    private static Node remove(Node node, long start, Booking booking) {
+        if (node == null) {
+            return null;
+        }
+        if (start < node.start) {
+            Node left = remove(node.left, start, booking);
+            return left == node.left ? node : node.with(left, node.right);
+        }
+        if (start > node.start) {
+            Node right = remove(node.right, start, booking);
+            return right == node.right ? node : node.with(node.left, right);
+        }
+        return node.booking.equals(booking) ? merge(node.left, node.right) : node;
+    }
+
+    /**
+     * Merges two treaps whose keys are all smaller in the first than in the second.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    /**
+     * Immutable tree node holding one booking, keyed by the start day of the booking.
+     */
+    private static final class Node {
+
+        private final Booking booking;
+        private final long start;
+        private final long end;
+        private final long priority;
+        private final Node left;
+        private final Node right;
+
+        private Node(Booking booking, Node left, Node right) {
+            this(booking, booking.dateRange().from().toEpochDay(), booking.dateRange().to().toEpochDay(),
+                    left, right);
+        }
+
+        private Node(Booking booking, long start, long end, Node left, Node right) {
+            this.booking = booking;
+            this.start = start;
+            this.end = end;
+            this.priority = Long.reverse(start * PRIORITY_MULTIPLIER);
+            this.left = left;
+            this.right = right;
+        }
+
+        private Node with(Node newLeft, Node newRight) {
+            return new Node(booking, start, end, newLeft, newRight);
+        }
+    }
+}
@@ -1,66 +1,160 @@
 package booking;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages all bookings in the system.
  * Provides functionality to create, cancel, retrieve, and list bookings.
  * Each booking is assigned a unique booking ID starting from 1.
+ * For every active booking the manager also remembers the hotel and room it was made for,
+ * so cancellation does not have to search all hotels for the booked room.
+ * Cancelled bookings are removed right away, so the manager only holds active bookings and a
+ * cancelled ID is answered exactly like an ID that never existed.
+ * Bookings and their locations are kept in an ID-indexed store, so they are listed in ID order
+ * without copying or sorting, and no lookup boxes its key.
+ * A second index lists the active booking IDs of every customer, so the bookings of one customer
+ * are found without scanning all bookings.
+ * The manager is safe for concurrent use: IDs are drawn from an atomic counter
+ * and bookings and their locations are stored in concurrent structures.
  *
  * @author ujnaa
  */
 public class BookingManager {
 
-    private static final int INITIAL_BOOKING_ID = 1;
-    private final Map<Integer, Booking> bookings = new HashMap<>();
-    private int bookingIdGenerator = INITIAL_BOOKING_ID;
+    /** ID assigned to the first booking. */
+    static final int INITIAL_BOOKING_ID = 1;
 
+    private final BookingStore bookings = new BookingStore(INITIAL_BOOKING_ID);
+    private final CustomerBookingIndex customerBookings = new CustomerBookingIndex();
+    private final AtomicInteger bookingIdGenerator = new AtomicInteger(INITIAL_BOOKING_ID);
 
     /**
-     * Creates a new booking for the given customer and date range.
+     * Creates a new booking for the given customer and date range in the given room.
      *
      * @param customer the customer making the booking
      * @param range the date range of the booking
+     * @param location the hotel and room the booking is made for
      * @return the created Booking
      * @throws NullPointerException if customer or range is null
      */
-    public Booking createBooking(Customer customer, DateRange range) {
-        int bookingId = bookingIdGenerator++;
+    public Booking createBooking(Customer customer, DateRange range, RoomLocation location) {
+        int bookingId = bookingIdGenerator.getAndIncrement();
         Booking booking = new Booking(bookingId, customer, range);
-        bookings.put(bookingId, booking);
+        bookings.add(bookingId, booking, location);
+        customerBookings.add(customer.getCustomerId(), bookingId);
         return booking;
     }
 
     /**
-     * Cancels the booking with the given ID, if it exists.
+     * Cancels the booking with the given ID, if it exists, and removes it from the manager.
      *
      * @param bookingId the ID of the booking to cancel
+     * @return true if this call cancelled the booking, false if it does not exist or was already cancelled
      */
-    public void cancelBooking(int bookingId) {
+    public boolean cancelBooking(int bookingId) {
         Booking booking = bookings.get(bookingId);
-        if (booking != null) {
-            booking.cancel();
+        if (booking == null || !booking.cancel()) {
+            return false;
         }
+        bookings.remove(bookingId);
+        customerBookings.remove(booking.customer().getCustomerId(), bookingId);
+        return true;
     }
 
     /**
-     * Returns the booking associated with the given ID.
+     * Returns the active bookings of the given customer in ID order.
+     *
+     * @param customerId the ID of the customer
+     * @return the bookings, empty if the customer does not exist or has no active bookings
+     */
+    public List<Booking> getBookingsOfCustomer(int customerId) {
+        int[] bookingIds = customerBookings.bookingIds(customerId);
+        List<Booking> customerBookingList = new ArrayList<>(bookingIds.length);
+        for (int bookingId : bookingIds) {
+            Booking booking = bookings.get(bookingId);
+            if (booking != null && !booking.isCancelled()) {
+                customerBookingList.add(booking);
+            }
+        }
+        return customerBookingList;
+    }
+
+    /**
+     * Returns the hotel and room of the active booking with the given ID.
      *
      * @param bookingId the ID of the booking
-     * @return the Booking if found, or null otherwise
+     * @return the location of the booking, or null if the booking does not exist or is cancelled
+     */
+    public RoomLocation getLocation(int bookingId) {
+        return bookings.location(bookingId);
+    }
+
+    /**
+     * Returns the active booking associated with the given ID.
+     *
+     * @param bookingId the ID of the booking
+     * @return the Booking if found, or null if it does not exist or has been cancelled
      */
     public Booking getBookingById(int bookingId) {
         return bookings.get(bookingId);
     }
 
     /**
-     * Returns a collection of all bookings.
+     * Returns a collection of all active bookings, iterating in ID order.
+     * A booking that is being cancelled concurrently may still be contained, already marked as cancelled.
      *
      * @return all bookings currently managed
      */
     public Collection<Booking> getAllBookings() {
-        return bookings.values();
+        return bookings;
+    }
+
+    /**
+     * Returns the ID the next created booking will receive.
+     *
+     * @return the next booking ID
+     */
+    int getNextBookingId() {
+        return bookingIdGenerator.get();
+    }
+
+    /**
+     * Restores an active booking from a snapshot, without a room location.
+     *
+     * @param booking the booking to restore
+     */
+    void restoreBooking(Booking booking) {
+        bookings.add(booking.bookingId(), booking, null);
+        customerBookings.add(booking.customer().getCustomerId(), booking.bookingId());
+    }
+
+    /**
+     * Releases the storage of all booking IDs below the next booking ID that no restored booking uses.
+     * Called once all bookings of a snapshot have been restored.
+     */
+    void compactRestored() {
+        bookings.vacateUnused(bookingIdGenerator.get());
+    }
+
+    /**
+     * Restores the hotel and room of an active booking from a snapshot.
+     *
+     * @param bookingId the ID of the booking
+     * @param location the hotel and room the booking belongs to
+     */
+    void restoreLocation(int bookingId, RoomLocation location) {
+        bookings.setLocation(bookingId, location);
+    }
+
+    /**
+     * Restores the ID the next created booking will receive.
+     *
+     * @param nextBookingId the next booking ID
+     */
+    void restoreNextBookingId(int nextBookingId) {
+        bookingIdGenerator.set(nextBookingId);
     }
 }
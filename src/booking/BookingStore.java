@@ -0,0 +1,274 @@
+package booking;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Append-only store of bookings and the rooms they were made for, indexed by their dense, increasing IDs.
+ * Bookings live in fixed-size chunks of {@value #CHUNK_SIZE} slots, found through a directory indexed
+ * by the upper bits of the ID. Every chunk keeps a bitmap of its occupied slots, so iteration walks
+ * the bookings in ID order and skips removed ones a word at a time, without copying or sorting.
+ * Removing a booking clears its slot; once every slot of a chunk has been vacated, the whole chunk is released.
+ * Lookups, insertions, and removals are safe for concurrent use; the directory is only changed
+ * under the store's lock, and iteration is weakly consistent like that of a concurrent map.
+ *
+ * @author ujnaa
+ */
+final class BookingStore extends AbstractCollection<Booking> {
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int OFFSET_MASK = CHUNK_SIZE - 1;
+    private static final int WORD_SHIFT = 6;
+    private static final int BITS_PER_WORD = 1 << WORD_SHIFT;
+    private static final int WORDS_PER_CHUNK = CHUNK_SIZE / BITS_PER_WORD;
+    private static final int INITIAL_DIRECTORY_SIZE = 16;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final int firstId;
+    private final Object directoryLock = new Object();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile Chunk[] directory = new Chunk[INITIAL_DIRECTORY_SIZE];
+
+    /**
+     * Constructs an empty store.
+     *
+     * @param firstId the smallest ID that will be stored; the slots of smaller IDs count as vacated
+     */
+    BookingStore(int firstId) {
+        this.firstId = firstId;
+    }
+
+    /**
+     * Returns the booking with the given ID.
+     *
+     * @param bookingId the ID of the booking
+     * @return the booking, or null if no booking with this ID is stored
+     */
+    Booking get(int bookingId) {
+        Chunk chunk = chunk(bookingId);
+        return chunk == null ? null : chunk.slots.get(bookingId & OFFSET_MASK);
+    }
+
+    /**
+     * Returns the hotel and room of the booking with the given ID.
+     *
+     * @param bookingId the ID of the booking
+     * @return the location, or null if no booking with this ID is stored or its location is unknown
+     */
+    RoomLocation location(int bookingId) {
+        Chunk chunk = chunk(bookingId);
+        return chunk == null ? null : chunk.locations.get(bookingId & OFFSET_MASK);
+    }
+
+    /**
+     * Stores a booking under its ID. Every ID must be stored at most once.
+     *
+     * @param bookingId the ID of the booking
+     * @param booking the booking to store
+     * @param location the hotel and room of the booking, or null if it is not known yet
+     */
+    void add(int bookingId, Booking booking, RoomLocation location) {
+        Chunk chunk = chunk(bookingId);
+        if (chunk == null) {
+            chunk = createChunk(bookingId >>> CHUNK_BITS);
+        }
+        int offset = bookingId & OFFSET_MASK;
+        chunk.locations.set(offset, location);
+        chunk.slots.set(offset, booking);
+        chunk.setLive(offset, true);
+        size.incrementAndGet();
+    }
+
+    /**
+     * Sets the hotel and room of a stored booking.
+     *
+     * @param bookingId the ID of the booking
+     * @param location the hotel and room of the booking
+     */
+    void setLocation(int bookingId, RoomLocation location) {
+        Chunk chunk = chunk(bookingId);
+        if (chunk != null && chunk.slots.get(bookingId & OFFSET_MASK) != null) {
+            chunk.locations.set(bookingId & OFFSET_MASK, location);
+        }
+    }
+
+    /**
+     * Removes the booking with the given ID and vacates its slot for good.
+     *
+     * @param bookingId the ID of the booking
+     * @return the removed booking, or null if no booking with this ID is stored
+     */
+    Booking remove(int bookingId) {
+        Chunk chunk = chunk(bookingId);
+        if (chunk == null) {
+            return null;
+        }
+        int offset = bookingId & OFFSET_MASK;
+        Booking booking = chunk.slots.getAndSet(offset, null);
+        if (booking == null) {
+            return null;
+        }
+        chunk.locations.set(offset, null);
+        chunk.setLive(offset, false);
+        size.decrementAndGet();
+        vacate(chunk, bookingId >>> CHUNK_BITS, 1);
+        return booking;
+    }
+
+    /**
+     * Vacates all empty slots of the IDs below the given bound, so that chunks holding only IDs
+     * that were never stored can be released. Used after restoring bookings, where the IDs of
+     * cancelled bookings stay unused.
+     *
+     * @param endId the first ID that may still be stored
+     */
+    void vacateUnused(int endId) {
+        Chunk[] chunks = directory;
+        int fullChunks = Math.min(endId >>> CHUNK_BITS, chunks.length);
+        for (int index = 0; index < fullChunks; index++) {
+            Chunk chunk = chunks[index];
+            if (chunk != null) {
+                int empty = CHUNK_SIZE - chunk.vacated.get();
+                for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                    empty -= Long.bitCount(chunk.live.get(word));
+                }
+                vacate(chunk, index, empty);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public Iterator<Booking> iterator() {
+        return new IdOrderIterator();
+    }
+
+    private Chunk chunk(int bookingId) {
+        if (bookingId < 0) {
+            return null;
+        }
+        Chunk[] chunks = directory;
+        int index = bookingId >>> CHUNK_BITS;
+        return index < chunks.length ? chunks[index] : null;
+    }
+
+    private Chunk createChunk(int index) {
+        synchronized (directoryLock) {
+            Chunk[] chunks = directory;
+            if (index >= chunks.length) {
+                int length = chunks.length;
+                while (index >= length) {
+                    length *= GROWTH_FACTOR;
+                }
+                Chunk[] grown = new Chunk[length];
+                System.arraycopy(chunks, 0, grown, 0, chunks.length);
+                chunks = grown;
+            }
+            if (chunks[index] == null) {
+                long unused = firstId - ((long) index << CHUNK_BITS);
+                chunks[index] = new Chunk((int) Math.max(0, Math.min(CHUNK_SIZE, unused)));
+            }
+            // republish so that readers see the new chunk after their volatile read of the directory
+            directory = chunks;
+            return chunks[index];
+        }
+    }
+
+    private void vacate(Chunk chunk, int index, int slots) {
+        if (chunk.vacated.addAndGet(slots) < CHUNK_SIZE) {
+            return;
+        }
+        synchronized (directoryLock) {
+            Chunk[] chunks = directory;
+            if (chunks[index] == chunk) {
+                chunks[index] = null;
+                directory = chunks;
+            }
+        }
+    }
+
+    /**
+     * Slots of {@value #CHUNK_SIZE} consecutive IDs with the bitmap of the occupied ones.
+     */
+    private static final class Chunk {
+
+        private final AtomicReferenceArray<Booking> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+        private final AtomicReferenceArray<RoomLocation> locations = new AtomicReferenceArray<>(CHUNK_SIZE);
+        private final AtomicLongArray live = new AtomicLongArray(WORDS_PER_CHUNK);
+        private final AtomicInteger vacated;
+
+        private Chunk(int vacated) {
+            this.vacated = new AtomicInteger(vacated);
+        }
+
+        private void setLive(int offset, boolean value) {
+            int word = offset >>> WORD_SHIFT;
+            long mask = 1L << offset;
+            long bits = live.get(word);
+            while (!live.compareAndSet(word, bits, value ? bits | mask : bits & ~mask)) {
+                bits = live.get(word);
+            }
+        }
+    }
+
+    /**
+     * Iterates the stored bookings in ID order, visiting only occupied slots.
+     */
+    private final class IdOrderIterator implements Iterator<Booking> {
+
+        private final Chunk[] chunks = directory;
+        private int chunkIndex = -1;
+        private int wordIndex = WORDS_PER_CHUNK;
+        private long bits;
+        private Chunk chunk;
+        private Booking next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                while (bits == 0) {
+                    if (!advanceWord()) {
+                        return false;
+                    }
+                }
+                int offset = (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                next = chunk.slots.get(offset);
+            }
+            return true;
+        }
+
+        @Override
+        public Booking next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Booking booking = next;
+            next = null;
+            return booking;
+        }
+
+        private boolean advanceWord() {
+            if (++wordIndex >= WORDS_PER_CHUNK) {
+                do {
+                    if (++chunkIndex >= chunks.length) {
+                        return false;
+                    }
+                    chunk = chunks[chunkIndex];
+                } while (chunk == null);
+                wordIndex = 0;
+            }
+            bits = chunk.live.get(wordIndex);
+            return true;
+        }
+    }
+}
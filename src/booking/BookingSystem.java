@@ -0,0 +1,169 @@
+package booking;
+
+import command.AddHotelCommand;
+import command.AddRoomCommand;
+import command.BookCommand;
+import command.CancelCommand;
+import command.Command;
+import command.CommandStatistics;
+import command.FindAvailableCommand;
+import command.FindCheapestCommand;
+import command.FindRangeCommand;
+import command.ListBookingsCommand;
+import command.ListRoomsCommand;
+import command.LockedCommand;
+import command.MutationLog;
+import command.OutputSink;
+import command.QuitCommand;
+import command.RemoveHotelCommand;
+import command.RemoveRoomCommand;
+import command.SnapshotCommand;
+import command.StatsCommand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Holds the complete in-memory state of the hotel booking system
+ * and creates the commands operating on it.
+ * Commands created for several sessions may run concurrently on the same system.
+ * Commands changing the set of hotels and rooms, and the snapshot command, run exclusively
+ * under the write lock of the catalog. All other commands share its read lock, so bookings and
+ * cancellations only contend with each other on the lock of the affected room.
+ * The commands created for remote clients leave out the snapshot command, since it writes to any
+ * file the process may write.
+ * The latency statistics of all sessions are collected in one place and printed by the stats command.
+ *
+ * @author ujnaa
+ */
+public final class BookingSystem {
+
+    private final IntMap<Hotel> hotels = new IntMap<>();
+    private final CustomerManager customerManager = new CustomerManager();
+    private final BookingManager bookingManager = new BookingManager();
+    private final RoomSearchIndex searchIndex;
+    private final AvailabilityEngine engine;
+    private final ReadWriteLock catalogLock = new ReentrantReadWriteLock();
+    private final CommandStatistics statistics = new CommandStatistics();
+
+    /**
+     * Constructs an empty system.
+     *
+     * @param engine the availability engine used by all rooms
+     */
+    public BookingSystem(AvailabilityEngine engine) {
+        this(engine, RoomSearchIndex.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs an empty system.
+     *
+     * @param engine the availability engine used by all rooms
+     * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+     */
+    public BookingSystem(AvailabilityEngine engine, int parallelSearchThreshold) {
+        this.engine = engine;
+        this.searchIndex = new RoomSearchIndex(parallelSearchThreshold);
+    }
+
+    /**
+     * Creates the full command set operating on this system.
+     *
+     * @param output the sink receiving the output of the commands
+     * @param mutationLog the log receiving every successful state change
+     * @param quitCallback the action performed by the quit command
+     * @return the commands
+     */
+    public List<Command> createCommands(OutputSink output, MutationLog mutationLog, Runnable quitCallback) {
+        List<Command> commands = new ArrayList<>(createClientCommands(output, mutationLog, quitCallback));
+        commands.add(new LockedCommand(new SnapshotCommand(this, output, mutationLog), catalogLock.writeLock()));
+        return commands;
+    }
+
+    /**
+     * Creates the command set offered to remote clients: the full command set without the snapshot command.
+     *
+     * @param output the sink receiving the output of the commands
+     * @param mutationLog the log receiving every successful state change
+     * @param quitCallback the action performed by the quit command
+     * @return the commands
+     */
+    public List<Command> createClientCommands(OutputSink output, MutationLog mutationLog, Runnable quitCallback) {
+        Lock shared = catalogLock.readLock();
+        Lock exclusive = catalogLock.writeLock();
+        return List.of(
+                new LockedCommand(new AddHotelCommand(hotels, searchIndex, output, mutationLog), exclusive),
+                new LockedCommand(new RemoveHotelCommand(hotels, bookingManager, searchIndex, output, mutationLog),
+                        exclusive),
+                new LockedCommand(new AddRoomCommand(hotels, searchIndex, engine, output, mutationLog), exclusive),
+                new LockedCommand(new RemoveRoomCommand(hotels, searchIndex, output, mutationLog), exclusive),
+                new LockedCommand(new ListRoomsCommand(hotels, output), shared),
+                new LockedCommand(new FindAvailableCommand(searchIndex, output), shared),
+                new LockedCommand(new FindCheapestCommand(searchIndex, output), shared),
+                new LockedCommand(new FindRangeCommand(searchIndex, output), shared),
+                new LockedCommand(new BookCommand(hotels, customerManager, bookingManager, output, mutationLog),
+                        shared),
+                new LockedCommand(new ListBookingsCommand(bookingManager, output), shared),
+                new LockedCommand(new CancelCommand(bookingManager, output, mutationLog), shared),
+                new StatsCommand(statistics, output),
+                new QuitCommand(quitCallback, output)
+        );
+    }
+
+    /**
+     * Returns the latency statistics of all commands executed by sessions on this system.
+     *
+     * @return the command statistics
+     */
+    CommandStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns all hotels by ID.
+     *
+     * @return the modifiable hotel map
+     */
+    IntMap<Hotel> hotels() {
+        return hotels;
+    }
+
+    /**
+     * Returns the manager of all customers.
+     *
+     * @return the customer manager
+     */
+    CustomerManager customerManager() {
+        return customerManager;
+    }
+
+    /**
+     * Returns the manager of all bookings.
+     *
+     * @return the booking manager
+     */
+    BookingManager bookingManager() {
+        return bookingManager;
+    }
+
+    /**
+     * Returns the availability engine used by all rooms.
+     *
+     * @return the engine
+     */
+    AvailabilityEngine engine() {
+        return engine;
+    }
+
+    /**
+     * Returns the index of all rooms by city and category.
+     *
+     * @return the search index
+     */
+    RoomSearchIndex searchIndex() {
+        return searchIndex;
+    }
+}
@@ -4,14 +4,17 @@ package booking;
  * Represents a customer with a unique ID and name.
  * Two customers are considered equal if their first and last names match.
  * The customer ID is not considered in equality checks.
+ * The hash code is computed once from both names and cached, so hash lookups never rebuild it.
  *
  * @author ujnaa
  */
 public final class Customer {
 
+    private static final int HASH_MULTIPLIER = 31;
     private final int customerId;
     private final String firstName;
     private final String lastName;
+    private final int hash;
 
     /**
      * Constructs a new Customer.
@@ -24,6 +27,29 @@ public final class Customer {
         this.customerId = customerId;
         this.firstName = firstName;
         this.lastName = lastName;
+        this.hash = hash(firstName, lastName);
+    }
+
+    /**
+     * Returns the hash code a customer with the given names has.
+     *
+     * @param firstName the customer's first name
+     * @param lastName the customer's last name
+     * @return the hash code
+     */
+    static int hash(String firstName, String lastName) {
+        return HASH_MULTIPLIER * firstName.hashCode() + lastName.hashCode();
+    }
+
+    /**
+     * Checks whether this customer has the given names.
+     *
+     * @param firstName the first name to compare with
+     * @param lastName the last name to compare with
+     * @return true if both names are equal, false otherwise
+     */
+    boolean hasName(String firstName, String lastName) {
+        return this.firstName.equals(firstName) && this.lastName.equals(lastName);
     }
 
     /**
@@ -35,6 +61,24 @@ public final class Customer {
         return customerId;
     }
 
+    /**
+     * Returns the customer's first name.
+     *
+     * @return the first name
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Returns the customer's last name.
+     *
+     * @return the last name
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
 
     /**
      * Checks whether this customer equals another object.
@@ -48,16 +92,16 @@ public final class Customer {
         if (!(obj instanceof Customer other)) {
             return false;
         }
-        return this.firstName.equals(other.firstName) && this.lastName.equals(other.lastName);
+        return hash == other.hash && hasName(other.firstName, other.lastName);
     }
 
     /**
      * Returns a hash code based on the customer's name.
      *
-     * @return the hash code
+     * @return the cached hash code
      */
     @Override
     public int hashCode() {
-        return (firstName + lastName).hashCode();
+        return hash;
     }
 }
@@ -0,0 +1,122 @@
+package booking;
+
+import java.util.Arrays;
+
+/**
+ * Index of the active booking IDs of every customer.
+ * The lists are found through an array indexed by customer ID and keep their IDs sorted; since booking IDs
+ * increase, adding an ID almost always appends. Each list is guarded by its own monitor, and the array
+ * of lists only grows under the index's lock, so bookings of different customers never contend.
+ *
+ * @author ujnaa
+ */
+final class CustomerBookingIndex {
+
+    private static final int INITIAL_CUSTOMER_CAPACITY = 64;
+    private static final int GROWTH_FACTOR = 2;
+    private static final int[] NO_IDS = new int[0];
+
+    private final Object directoryLock = new Object();
+    private volatile IdList[] lists = new IdList[INITIAL_CUSTOMER_CAPACITY];
+
+    /**
+     * Adds a booking ID to the list of the given customer.
+     *
+     * @param customerId the ID of the customer
+     * @param bookingId the ID of the booking
+     */
+    void add(int customerId, int bookingId) {
+        IdList list = list(customerId);
+        if (list == null) {
+            list = createList(customerId);
+        }
+        list.add(bookingId);
+    }
+
+    /**
+     * Removes a booking ID from the list of the given customer.
+     *
+     * @param customerId the ID of the customer
+     * @param bookingId the ID of the booking
+     */
+    void remove(int customerId, int bookingId) {
+        IdList list = list(customerId);
+        if (list != null) {
+            list.remove(bookingId);
+        }
+    }
+
+    /**
+     * Returns the booking IDs of the given customer in ascending order.
+     *
+     * @param customerId the ID of the customer
+     * @return a new array of the booking IDs, empty if the customer has no bookings
+     */
+    int[] bookingIds(int customerId) {
+        IdList list = list(customerId);
+        return list == null ? NO_IDS : list.toArray();
+    }
+
+    private IdList list(int customerId) {
+        IdList[] current = lists;
+        if (customerId < 0 || customerId >= current.length) {
+            return null;
+        }
+        return current[customerId];
+    }
+
+    private IdList createList(int customerId) {
+        synchronized (directoryLock) {
+            IdList[] current = lists;
+            if (customerId >= current.length) {
+                int length = current.length;
+                while (customerId >= length) {
+                    length *= GROWTH_FACTOR;
+                }
+                current = Arrays.copyOf(current, length);
+            }
+            if (current[customerId] == null) {
+                current[customerId] = new IdList();
+            }
+            // republish so that readers see the new list after their volatile read of the array
+            lists = current;
+            return current[customerId];
+        }
+    }
+
+    /**
+     * Sorted, growable list of the booking IDs of one customer.
+     */
+    private static final class IdList {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private synchronized void add(int bookingId) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * GROWTH_FACTOR);
+            }
+            int index = size;
+            while (index > 0 && ids[index - 1] > bookingId) {
+                index--;
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = bookingId;
+            size++;
+        }
+
+        private synchronized void remove(int bookingId) {
+            int index = Arrays.binarySearch(ids, 0, size, bookingId);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        private synchronized int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
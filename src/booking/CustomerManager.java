@@ -1,5 +1,7 @@
 package booking;
 
+import java.util.AbstractList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,6 +10,11 @@ import java.util.Map;
  * Manages customer records and assigns unique customer IDs.
  * Each unique combination of first and last name corresponds to one customer ID.
  * Customer equality is based solely on first and last name.
+ * Registration is atomic, so concurrent bookings under the same name always share one customer ID.
+ * Customers are kept in an open-addressing hash table probed directly with the two names, so a lookup
+ * allocates nothing and hashes once; a registered customer is found without locking. New customers are
+ * inserted under a lock, which also guards an array indexed by customer ID and a pool that shares equal
+ * first and last names between customers, so frequent names are stored only once.
  *
  * @author ujnaa
  */
@@ -18,26 +25,40 @@ public class CustomerManager {
     /** Initial customer ID assigned to the first registered customer. */
     public static final int INITIAL_CUSTOMER_ID = 1;
 
-    private final Map<Customer, Customer> customers = new HashMap<>();
-    private int nextId = INITIAL_CUSTOMER_ID;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int GROWTH_FACTOR = 2;
+    private static final int LOAD_DENOMINATOR = 2;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    private static final int HASH_SHIFT = 16;
+
+    private final Object registrationLock = new Object();
+    private final Map<String, String> namePool = new HashMap<>();
+    private volatile Customer[] table = new Customer[INITIAL_CAPACITY];
+    private volatile Customer[] customersById = new Customer[INITIAL_CAPACITY];
+    private volatile int nextId = INITIAL_CUSTOMER_ID;
+    private int size;
 
     /**
-     * Returns the existing customer ID if the customer already exists,
-     * or assigns a new one otherwise.
+     * Returns the existing customer with the given name, or registers a new one with the next free ID.
      *
      * @param firstName the customer's first name
      * @param lastName the customer's last name
-     * @return the unique customer ID
+     * @return the customer
      */
-    public int getOrAddCustomerId(String firstName, String lastName) {
-        Customer key = new Customer(ID_NONE, firstName, lastName);
-        if (customers.containsKey(key)) {
-            return customers.get(key).getCustomerId();
-        } else {
-            int id = nextId++;
-            Customer customer = new Customer(id, firstName, lastName);
-            customers.put(customer, customer);
-            return id;
+    public Customer getOrAddCustomer(String firstName, String lastName) {
+        int hash = Customer.hash(firstName, lastName);
+        Customer customer = find(table, hash, firstName, lastName);
+        if (customer != null) {
+            return customer;
+        }
+        synchronized (registrationLock) {
+            customer = find(table, hash, firstName, lastName);
+            if (customer == null) {
+                customer = new Customer(nextId, pooled(firstName), pooled(lastName));
+                insert(customer);
+                nextId = customer.getCustomerId() + 1;
+            }
+            return customer;
         }
     }
 
@@ -50,7 +71,150 @@ public class CustomerManager {
      * @return the Customer object or null
      */
     public Customer getCustomer(String firstName, String lastName) {
-        Customer key = new Customer(ID_NONE, firstName, lastName);
-        return customers.getOrDefault(key, null);
+        return find(table, Customer.hash(firstName, lastName), firstName, lastName);
+    }
+
+    /**
+     * Returns the customer with the given ID.
+     *
+     * @param customerId the ID of the customer
+     * @return the Customer object, or null if no customer has this ID
+     */
+    public Customer getCustomer(int customerId) {
+        Customer[] customers = customersById;
+        if (customerId < 0 || customerId >= customers.length) {
+            return null;
+        }
+        return customers[customerId];
+    }
+
+    /**
+     * Returns all registered customers in ID order.
+     *
+     * @return the customers
+     */
+    Collection<Customer> getAllCustomers() {
+        synchronized (registrationLock) {
+            Customer[] customers = customersById;
+            int count = size;
+            int[] ids = new int[count];
+            int index = 0;
+            for (int id = 0; id < customers.length && index < count; id++) {
+                if (customers[id] != null) {
+                    ids[index++] = id;
+                }
+            }
+            return new AbstractList<>() {
+                @Override
+                public Customer get(int i) {
+                    return customers[ids[i]];
+                }
+
+                @Override
+                public int size() {
+                    return count;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the ID the next registered customer will receive.
+     *
+     * @return the next customer ID
+     */
+    int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Restores a customer from a snapshot.
+     *
+     * @param customerId the ID of the customer
+     * @param firstName the customer's first name
+     * @param lastName the customer's last name
+     * @return the restored customer
+     */
+    Customer restoreCustomer(int customerId, String firstName, String lastName) {
+        synchronized (registrationLock) {
+            Customer customer = new Customer(customerId, pooled(firstName), pooled(lastName));
+            insert(customer);
+            return customer;
+        }
+    }
+
+    /**
+     * Restores the ID the next registered customer will receive.
+     *
+     * @param nextId the next customer ID
+     */
+    void restoreNextId(int nextId) {
+        synchronized (registrationLock) {
+            this.nextId = nextId;
+        }
+    }
+
+    private static Customer find(Customer[] customers, int hash, String firstName, String lastName) {
+        int mask = customers.length - 1;
+        for (int slot = slotOf(hash, mask); customers[slot] != null; slot = (slot + 1) & mask) {
+            Customer customer = customers[slot];
+            if (customer.hashCode() == hash && customer.hasName(firstName, lastName)) {
+                return customer;
+            }
+        }
+        return null;
+    }
+
+    private static int slotOf(int hash, int mask) {
+        int mixed = hash * HASH_MULTIPLIER;
+        return (mixed ^ (mixed >>> HASH_SHIFT)) & mask;
+    }
+
+    private String pooled(String name) {
+        String pooled = namePool.putIfAbsent(name, name);
+        return pooled == null ? name : pooled;
+    }
+
+    /**
+     * Adds a customer to the hash table and the ID index, growing and republishing them when needed.
+     * Must be called while holding the registration lock.
+     */
+    private void insert(Customer customer) {
+        Customer[] customers = table;
+        if ((size + 1) * LOAD_DENOMINATOR > customers.length) {
+            Customer[] grown = new Customer[customers.length * GROWTH_FACTOR];
+            for (Customer existing : customers) {
+                if (existing != null) {
+                    place(grown, existing);
+                }
+            }
+            customers = grown;
+        }
+        place(customers, customer);
+        size++;
+        table = customers;
+
+        Customer[] byId = customersById;
+        int id = customer.getCustomerId();
+        if (id >= byId.length) {
+            int length = byId.length;
+            while (id >= length) {
+                length *= GROWTH_FACTOR;
+            }
+            Customer[] grown = new Customer[length];
+            System.arraycopy(byId, 0, grown, 0, byId.length);
+            byId = grown;
+        }
+        byId[id] = customer;
+        customersById = byId;
+    }
+
+    private static void place(Customer[] customers, Customer customer) {
+        int mask = customers.length - 1;
+        int slot = slotOf(customer.hashCode(), mask);
+        while (customers[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        customers[slot] = customer;
     }
 }
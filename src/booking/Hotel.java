@@ -1,12 +1,11 @@
 package booking;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
 
 /**
  * Represents a hotel with a unique ID, city, and a set of rooms.
  * Each room is identified by a unique room number within the hotel.
+ * Rooms are kept in a primitive-keyed map, so looking up a room number neither boxes nor chases entry nodes.
  *
  * @author ujnaa
  */
@@ -14,7 +13,7 @@ public class Hotel {
 
     private final int id;
     private final String city;
-    private final Map<Integer, Room> rooms;
+    private final IntMap<Room> rooms;
 
     /**
      * Constructs a new Hotel.
@@ -25,7 +24,7 @@ public class Hotel {
     public Hotel(int id, String city) {
         this.id = id;
         this.city = city;
-        this.rooms = new HashMap<>();
+        this.rooms = new IntMap<>();
     }
 
     /**
@@ -47,27 +46,31 @@ public class Hotel {
     }
 
     /**
-     * Returns an unmodifiable view of the hotel's rooms.
+     * Returns an unmodifiable view of the hotel's rooms in unspecified order.
      *
-     * @return a map of room number to room
+     * @return the rooms
      */
-    public Map<Integer, Room> getRooms() {
-        return Collections.unmodifiableMap(rooms);
+    public Collection<Room> getRooms() {
+        return rooms.values();
     }
 
     /**
-     * Searches for a room that contains the specified booking ID.
+     * Returns the room with the given number.
      *
-     * @param bookingId the ID of the booking
-     * @return the room containing the booking, or null if not found
+     * @param number the room number
+     * @return the room, or null if the hotel has no room with this number
      */
-    public Room findRoomWithBooking(int bookingId) {
-        for (Room room : rooms.values()) {
-            if (room.hasBooking(bookingId)) {
-                return room;
-            }
-        }
-        return null;
+    public Room getRoom(int number) {
+        return rooms.get(number);
+    }
+
+    /**
+     * Returns the numbers of all rooms in ascending order.
+     *
+     * @return a new array of the room numbers
+     */
+    public int[] getRoomNumbers() {
+        return rooms.sortedKeys();
     }
 
     /**
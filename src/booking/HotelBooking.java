@@ -2,14 +2,25 @@ package booking;
 
 import command.*;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
+import java.util.function.Function;
 
 /**
  * Main class for the hotel booking system.
  * Handles user input and delegates commands.
+ * Command output is buffered and flushed after every command in interactive sessions;
+ * when input is piped in, it is flushed once per batch of already available input lines.
+ * In batch mode, commands are replayed from a memory-mapped command file instead of standard input,
+ * producing exactly the output a piped session with the same input would produce.
+ * Every command execution is timed and recorded in the statistics of the system, together with
+ * whether the command printed an error.
  *
  * @author ujnaa
  */
@@ -17,14 +28,16 @@ public final class HotelBooking {
 
     /** Error message when the entered command is not recognized by the system. */
     public static final String ERROR_UNKNOWN_COMMAND = "Error, unknown command";
+    /** Error message when the program is started with unsupported arguments. */
+    public static final String ERROR_USAGE_PROGRAM = "Error, usage: HotelBooking " + StartupOptions.USAGE;
+    /** Error message when the command file or output file of a batch run cannot be accessed. */
+    public static final String ERROR_BATCH_IO = "Error, batch file access failed: ";
+    /** Error message when the snapshot given at startup cannot be loaded. */
+    public static final String ERROR_SNAPSHOT_IO = "Error, snapshot load failed: ";
+    /** Error message when the journal cannot be opened, replayed, or written. */
+    public static final String ERROR_JOURNAL_IO = "Error, journal access failed: ";
 
     private static final int RUNNING_FLAG_INDEX = 0;
-    private static final int DEFAULT_COMMAND_INDEX = 0;
-    private static final int FIRST_INDEX = 0;
-    private static final int SECOND_INDEX = 1;
-    private static final int MIN_COMMAND_PARTS = 2;
-    private static final String WHITESPACE_REGEX = "\\s+";
-    private static final String SPACE = " ";
 
 
     private HotelBooking() {
@@ -32,70 +45,185 @@ public final class HotelBooking {
     }
     /**
      * Main method for starting the booking system.
+     * If a snapshot is given, it provides the initial state. If a journal is given, it is replayed next,
+     * starting after the records the snapshot already contains, and then records every successful change
+     * of the session.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments, see {@link StartupOptions#USAGE}
      */
     public static void main(String[] args) {
-        try (Scanner scanner = new Scanner(System.in)) {
-            Map<Integer, Hotel> hotels = new HashMap<>();
-            CustomerManager customerManager = new CustomerManager();
-            BookingManager bookingManager = new BookingManager();
-            boolean[] running = {true};
-
-
-            List<Command> commandList = List.of(
-                    new AddHotelCommand(hotels),
-                    new RemoveHotelCommand(hotels, bookingManager),
-                    new AddRoomCommand(hotels),
-                    new RemoveRoomCommand(hotels),
-                    new ListRoomsCommand(hotels),
-                    new FindAvailableCommand(hotels),
-                    new FindCheapestCommand(hotels),
-                    new BookCommand(hotels, customerManager, bookingManager),
-                    new ListBookingsCommand(bookingManager),
-                    new CancelCommand(bookingManager, hotels),
-                    new QuitCommand(() -> running[RUNNING_FLAG_INDEX] = false)
-            );
-
-            Map<String, Command> commands = new HashMap<>();
-            for (Command c : commandList) {
-                commands.put(c.keyword(), c);
+        StartupOptions options = StartupOptions.parse(args);
+        if (options == null) {
+            System.out.println(ERROR_USAGE_PROGRAM);
+            return;
+        }
+        BookingSystem system = new BookingSystem(options.engine(), options.parallelSearchThreshold());
+        long journalCheckpoint = 0;
+        try {
+            if (options.snapshotFile() != null) {
+                journalCheckpoint = Snapshot.read(options.snapshotFile(), system);
+            }
+        } catch (IOException e) {
+            System.out.println(ERROR_SNAPSHOT_IO + e.getMessage());
+            return;
+        }
+        Journal journal = null;
+        if (options.journalFile() != null) {
+            try {
+                journal = openJournal(system, options, journalCheckpoint);
+            } catch (IOException e) {
+                System.out.println(ERROR_JOURNAL_IO + e.getMessage());
+                return;
+            }
+        }
+        MutationLog mutationLog = journal == null ? MutationLog.NONE : journal;
+        try {
+            if (options.batchFile() != null) {
+                runBatch(system, mutationLog, options);
+            } else {
+                runStandardInput(system, mutationLog);
             }
+        } catch (UncheckedIOException e) {
+            System.out.println(ERROR_JOURNAL_IO + e.getCause().getMessage());
+        } finally {
+            closeJournal(journal);
+        }
+    }
 
-            while (running[RUNNING_FLAG_INDEX]) {
-                String input = scanner.nextLine().trim();
-                String[] parts = input.split(WHITESPACE_REGEX);
+    /**
+     * Opens the journal of the given options and replays it into the given system.
+     *
+     * @param system the system to rebuild
+     * @param options the startup options naming the journal
+     * @param checkpoint the journal position the state of the system already contains
+     * @return the opened journal, positioned for appending
+     * @throws IOException if the journal cannot be opened or read
+     */
+    private static Journal openJournal(BookingSystem system, StartupOptions options, long checkpoint)
+            throws IOException {
+        Journal journal = Journal.open(options.journalFile(), options.durability());
+        try {
+            OutputSink discarded = new OutputSink(OutputStream.nullOutputStream(), System.out.charset());
+            journal.replay(new CommandDispatcher(system.createCommands(discarded, MutationLog.NONE, () -> { })),
+                    checkpoint);
+        } catch (IOException e) {
+            closeJournal(journal);
+            throw e;
+        }
+        return journal;
+    }
 
-                String commandKey = extractCommandKey(parts, commands);
+    private static void closeJournal(Journal journal) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println(ERROR_JOURNAL_IO + e.getMessage());
+        }
+    }
 
-                if (commandKey == null) {
-                    System.out.println(ERROR_UNKNOWN_COMMAND);
-                    continue;
-                }
+    /**
+     * Runs a session reading commands from standard input.
+     *
+     * @param system the system the commands operate on
+     * @param mutationLog the log receiving every successful change
+     */
+    private static void runStandardInput(BookingSystem system, MutationLog mutationLog) {
+        LineReader reader = new LineReader(System.in, Charset.defaultCharset());
+        OutputSink output = new OutputSink(System.out, System.out.charset());
+        try {
+            runSession(reader, output, system, mutationLog, System.console() != null);
+        } catch (IOException e) {
+            // like the end of input, a broken input stream ends the session
+        }
+    }
 
-                commands.get(commandKey).execute(parts);
+    /**
+     * Replays the command file of the given options and writes the output to the output file,
+     * or to standard output if no output file is given.
+     *
+     * @param system the system the commands operate on
+     * @param mutationLog the log receiving every successful change
+     * @param options the startup options naming the files
+     */
+    private static void runBatch(BookingSystem system, MutationLog mutationLog, StartupOptions options) {
+        try (FileChannel channel = FileChannel.open(options.batchFile(), StandardOpenOption.READ)) {
+            LineReader reader = new LineReader(channel, Charset.defaultCharset());
+            if (options.outputFile() == null) {
+                runSession(reader, new OutputSink(System.out, System.out.charset()), system, mutationLog, false);
+                return;
             }
-
+            try (OutputStream out = Files.newOutputStream(options.outputFile())) {
+                OutputSink output = new OutputSink(out, System.out.charset());
+                runSession(reader, output, system, mutationLog, false);
+                if (output.checkError()) {
+                    System.out.println(ERROR_BATCH_IO + options.outputFile());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println(ERROR_BATCH_IO + e.getMessage());
         }
     }
 
     /**
-     * Extracts the command key from the input parts.
+     * Runs a session on the given system until the input ends or the quit command is executed.
      *
-     * @param parts    the split input string
-     * @param commands the map of available commands
-     * @return the matched command key or null if unknown
+     * @param reader the source of command lines
+     * @param output the sink receiving all output
+     * @param system the system the commands operate on
+     * @param mutationLog the log receiving every successful change
+     * @param interactive whether output is flushed after every command instead of once per batch of input
+     * @throws IOException if reading the input fails
      */
-    private static String extractCommandKey(String[] parts, Map<String, Command> commands) {
-        if (parts.length >= MIN_COMMAND_PARTS) {
-            String twoWord = parts[FIRST_INDEX] + SPACE + parts[SECOND_INDEX];
-            if (commands.containsKey(twoWord)) {
-                return twoWord;
+    static void runSession(LineReader reader, OutputSink output, BookingSystem system,
+                           MutationLog mutationLog, boolean interactive) throws IOException {
+        runCommandSession(reader, output, system,
+                quitCallback -> system.createCommands(output, mutationLog, quitCallback), interactive);
+    }
+
+    /**
+     * Runs a session with the given command set until the input ends or the quit command is executed.
+     *
+     * @param reader the source of command lines
+     * @param output the sink receiving all output
+     * @param system the system the commands operate on
+     * @param commandFactory creates the commands of the session from the action of the quit command
+     * @param interactive whether output is flushed after every command instead of once per batch of input
+     * @throws IOException if reading the input fails
+     */
+    static void runCommandSession(LineReader reader, OutputSink output, BookingSystem system,
+                                  Function<Runnable, List<Command>> commandFactory, boolean interactive)
+            throws IOException {
+        boolean[] running = {true};
+        List<Command> commandList = commandFactory.apply(() -> running[RUNNING_FLAG_INDEX] = false);
+
+        CommandDispatcher dispatcher = new CommandDispatcher(commandList);
+        CommandStatistics statistics = system.statistics();
+
+        try {
+            while (running[RUNNING_FLAG_INDEX] && reader.nextLine()) {
+                String[] parts = reader.tokens();
+
+                Command command = dispatcher.resolve(parts);
+
+                if (command == null) {
+                    output.println(ERROR_UNKNOWN_COMMAND);
+                } else {
+                    long errorLines = output.errorLineCount();
+                    long start = System.nanoTime();
+                    command.execute(parts);
+                    statistics.record(command.keyword(), System.nanoTime() - start,
+                            output.errorLineCount() != errorLines);
+                }
+
+                if (interactive || !reader.hasBufferedInput()) {
+                    output.flush();
+                }
             }
+        } finally {
+            output.flush();
         }
-        if (commands.containsKey(parts[DEFAULT_COMMAND_INDEX])) {
-            return parts[DEFAULT_COMMAND_INDEX];
-        }
-        return null;
     }
-}
\ No newline at end of file
+}
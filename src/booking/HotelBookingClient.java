@@ -0,0 +1,147 @@
+package booking;
+
+import command.LineReader;
+import command.OutputSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loopback client of the {@link HotelBookingServer}.
+ * Sends command lines to the server and receives the lines of its output. Run as a program, it forwards
+ * standard input to the server and prints the output of the server until the connection ends.
+ *
+ * @author ujnaa
+ */
+public final class HotelBookingClient implements Closeable {
+
+    /** Usage of the client's command-line options. */
+    public static final String USAGE = "[--port=<Port>]";
+    /** Error message when the client is started with unsupported arguments. */
+    public static final String ERROR_USAGE_CLIENT = "Error, usage: HotelBookingClient " + USAGE;
+    /** Error message when the connection to the server cannot be opened or fails. */
+    public static final String ERROR_CLIENT_IO = "Error, server connection failed: ";
+
+    private static final Charset PROTOCOL_CHARSET = StandardCharsets.UTF_8;
+    private static final String OPTION_PORT = "--port=";
+    private static final int DEFAULT_PORT = 4711;
+    private static final int MAX_PORT = 65535;
+    private static final String CONNECTION_CLOSED = "connection closed";
+
+    private final Socket socket;
+    private final LineReader reader;
+    private final OutputSink output;
+
+    /**
+     * Connects to the server listening on the given loopback port.
+     *
+     * @param port the loopback port of the server
+     * @throws IOException if the connection cannot be opened
+     */
+    public HotelBookingClient(int port) throws IOException {
+        this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        this.reader = new LineReader(socket.getInputStream(), PROTOCOL_CHARSET);
+        this.output = new OutputSink(socket.getOutputStream(), PROTOCOL_CHARSET);
+    }
+
+    /**
+     * Main method for connecting a console session to a running server.
+     *
+     * @param args command-line arguments, see {@link #USAGE}
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        try {
+            for (String arg : args) {
+                if (!arg.startsWith(OPTION_PORT)) {
+                    System.out.println(ERROR_USAGE_CLIENT);
+                    return;
+                }
+                port = Integer.parseInt(arg.substring(OPTION_PORT.length()));
+            }
+        } catch (NumberFormatException e) {
+            port = -1;
+        }
+        if (port < 0 || port > MAX_PORT) {
+            System.out.println(ERROR_USAGE_CLIENT);
+            return;
+        }
+        try (HotelBookingClient client = new HotelBookingClient(port)) {
+            Thread printer = Thread.ofVirtual().start(client::printResponses);
+            LineReader input = new LineReader(System.in, Charset.defaultCharset());
+            while (input.nextLine()) {
+                client.send(input.line());
+            }
+            client.finishSending();
+            printer.join();
+        } catch (IOException e) {
+            System.out.println(ERROR_CLIENT_IO + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends a command line to the server.
+     *
+     * @param line the command line
+     * @throws IOException if the line cannot be sent
+     */
+    public void send(String line) throws IOException {
+        output.println(line);
+        output.flush();
+        if (output.checkError()) {
+            throw new IOException(CONNECTION_CLOSED);
+        }
+    }
+
+    /**
+     * Signals the server that no further command lines follow; the server ends the session
+     * once it has answered all lines sent before.
+     *
+     * @throws IOException if the connection cannot be half-closed
+     */
+    public void finishSending() throws IOException {
+        socket.shutdownOutput();
+    }
+
+    /**
+     * Receives the next line of output, blocking until it is complete.
+     *
+     * @return the line, or null if the server has ended the session
+     * @throws IOException if the connection fails
+     */
+    public String receive() throws IOException {
+        return reader.nextLine() ? reader.line() : null;
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if the connection cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    private void printResponses() {
+        OutputSink console = new OutputSink(System.out, System.out.charset());
+        try {
+            for (String line = receive(); line != null; line = receive()) {
+                console.println(line);
+                if (!reader.hasBufferedInput()) {
+                    console.flush();
+                }
+            }
+        } catch (IOException e) {
+            // a broken connection ends the output like the end of the session
+        } finally {
+            console.flush();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package booking;
+
+import command.LineReader;
+import command.MutationLog;
+import command.OutputSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server entry point of the hotel booking system.
+ * Accepts client connections on a loopback port and serves each of them on its own virtual thread.
+ * A connection speaks the same line protocol as a console session: every line is one command,
+ * and the output of the command is sent back once no further input of the client is pending.
+ * All connections share one {@link BookingSystem}; {@code quit} only ends the own connection.
+ * The state is kept in memory and can be loaded from a snapshot at startup. Clients cannot write snapshots,
+ * since the {@code snapshot} command would let any local client overwrite files of the server process.
+ * {@link HotelBookingClient} connects a console to a running server.
+ *
+ * @author ujnaa
+ */
+public final class HotelBookingServer implements Closeable {
+
+    /** Error message when the server is started with unsupported arguments. */
+    public static final String ERROR_USAGE_SERVER = "Error, usage: HotelBookingServer " + ServerOptions.USAGE;
+    /** Error message when the server socket cannot be opened or fails. */
+    public static final String ERROR_SERVER_IO = "Error, server socket failed: ";
+    /** Message announcing the port the server listens on. */
+    public static final String MESSAGE_LISTENING = "Listening on port ";
+
+    private static final Charset PROTOCOL_CHARSET = StandardCharsets.UTF_8;
+
+    private final BookingSystem system;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a server for the given system and binds it to the given loopback port.
+     *
+     * @param system the system shared by all connections
+     * @param port the loopback port to listen on, or 0 to pick a free port
+     * @throws IOException if the port cannot be bound
+     */
+    public HotelBookingServer(BookingSystem system, int port) throws IOException {
+        this.system = system;
+        this.serverSocket = new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Main method for starting the booking server.
+     *
+     * @param args command-line arguments, see {@link ServerOptions#USAGE}
+     */
+    public static void main(String[] args) {
+        ServerOptions options = ServerOptions.parse(args);
+        if (options == null) {
+            System.out.println(ERROR_USAGE_SERVER);
+            return;
+        }
+        BookingSystem system = new BookingSystem(options.engine(), options.parallelSearchThreshold());
+        try {
+            if (options.snapshotFile() != null) {
+                Snapshot.read(options.snapshotFile(), system);
+            }
+        } catch (IOException e) {
+            System.out.println(HotelBooking.ERROR_SNAPSHOT_IO + e.getMessage());
+            return;
+        }
+        try (HotelBookingServer server = new HotelBookingServer(system, options.port())) {
+            System.out.println(MESSAGE_LISTENING + server.getPort());
+            server.run();
+        } catch (IOException e) {
+            System.out.println(ERROR_SERVER_IO + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed.
+     *
+     * @throws IOException if accepting a connection fails while the server is open
+     */
+    public void run() throws IOException {
+        while (true) {
+            Socket client;
+            try {
+                client = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            clients.add(client);
+            connections.execute(() -> serve(client));
+        }
+    }
+
+    /**
+     * Stops accepting connections, closes all open connections, and waits for their sessions to end.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket client : clients) {
+            closeQuietly(client);
+        }
+        connections.close();
+    }
+
+    private void serve(Socket client) {
+        try {
+            LineReader reader = new LineReader(client.getInputStream(), PROTOCOL_CHARSET);
+            OutputSink output = new OutputSink(client.getOutputStream(), PROTOCOL_CHARSET);
+            HotelBooking.runCommandSession(reader, output, system,
+                    quitCallback -> system.createClientCommands(output, MutationLog.NONE, quitCallback), false);
+        } catch (IOException e) {
+            // like the end of input, a broken connection ends the session
+        } finally {
+            clients.remove(client);
+            closeQuietly(client);
+        }
+    }
+
+    private static void closeQuietly(Socket client) {
+        try {
+            client.close();
+        } catch (IOException e) {
+            // the connection is dropped either way
+        }
+    }
+}
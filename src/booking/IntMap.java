@@ -0,0 +1,255 @@
+package booking;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Hash map from primitive {@code int} keys to non-null values.
+ * Keys and values are stored in two parallel arrays with open addressing and linear probing,
+ * so neither keys are boxed nor entry objects are allocated, and a lookup usually touches a single
+ * cache line of each array. Removal shifts the following entries of the probe run back instead of
+ * leaving tombstones. Iteration order is unspecified; {@link #sortedKeys()} returns the keys in
+ * ascending order for callers that need sorted output.
+ * The map is not thread-safe.
+ *
+ * @param <V> the type of the values
+ * @author ujnaa
+ */
+public final class IntMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int GROWTH_FACTOR = 2;
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int shift;
+
+    /**
+     * Constructs an empty map.
+     */
+    public IntMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the value stored under the given key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not contained
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = values.length - 1;
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the given key is contained.
+     *
+     * @param key the key
+     * @return true if a value is stored under the key, false otherwise
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores the value under the given key, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the value, not null
+     * @return the previous value, or null if the key was not contained
+     * @throws NullPointerException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        int mask = values.length - 1;
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * LOAD_DENOMINATOR > values.length * LOAD_NUMERATOR) {
+            rehash(values.length * GROWTH_FACTOR);
+        }
+        return null;
+    }
+
+    /**
+     * Stores the value under the given key if the key is not contained yet.
+     *
+     * @param key the key
+     * @param value the value, not null
+     * @return the value already stored under the key, or null if the given value was stored
+     * @throws NullPointerException if the value is null
+     */
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        return existing != null ? existing : put(key, value);
+    }
+
+    /**
+     * Removes the value stored under the given key.
+     *
+     * @param key the key
+     * @return the removed value, or null if the key was not contained
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = values.length - 1;
+        int slot = slotOf(key);
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        V removed = (V) values[slot];
+        if (removed == null) {
+            return null;
+        }
+        // shift back every later entry of the run whose home slot does not lie between the gap and itself
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = slotOf(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return true if the map contains no entries, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns all keys in ascending order.
+     *
+     * @return a new array of the keys
+     */
+    public int[] sortedKeys() {
+        int[] sorted = new int[size];
+        int count = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                sorted[count++] = keys[slot];
+            }
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Returns an unmodifiable view of the values in unspecified order.
+     *
+     * @return the values
+     */
+    public Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int slotOf(int key) {
+        return (key * HASH_MULTIPLIER) >>> shift;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Iterates the occupied slots in slot order.
+     */
+    private final class ValueIterator implements Iterator<V> {
+
+        private int slot = nextOccupied(0);
+
+        @Override
+        public boolean hasNext() {
+            return slot < values.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            V value = (V) values[slot];
+            slot = nextOccupied(slot + 1);
+            return value;
+        }
+
+        private int nextOccupied(int from) {
+            int next = from;
+            while (next < values.length && values[next] == null) {
+                next++;
+            }
+            return next;
+        }
+    }
+}
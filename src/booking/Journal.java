@@ -0,0 +1,308 @@
+package booking;
+
+import command.Command;
+import command.CommandDispatcher;
+import command.LineReader;
+import command.MutationLog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only write-ahead journal of all successful state-changing commands.
+ * Each record is the command line itself, so replaying the journal through the regular commands
+ * rebuilds the exact state, including all booking and customer IDs.
+ * Records are written by a background thread that appends everything queued since its last
+ * write and then forces the file once, so many records share a single force (group commit).
+ * Whether commands wait for that force is decided by the {@link JournalDurability}.
+ * A checkpoint waits for all queued records and returns the size of the journal up to them, which a
+ * snapshot stores so that a later replay can start right after the records the snapshot already contains.
+ *
+ * @author ujnaa
+ */
+public final class Journal implements MutationLog, Closeable {
+
+    /** Error message when a record could not be written to the journal. */
+    public static final String ERROR_JOURNAL_WRITE = "Error, journal write failed";
+    /** Error message when a record is added to a closed journal. */
+    public static final String ERROR_JOURNAL_CLOSED = "Error, journal is closed";
+    /** Error message when the journal does not contain the checkpoint replay should start from. */
+    public static final String ERROR_JOURNAL_MISMATCH = "journal does not continue the snapshot";
+
+    private static final Charset JOURNAL_CHARSET = StandardCharsets.UTF_8;
+    private static final String FIELD_SEPARATOR = " ";
+    private static final byte RECORD_END = '\n';
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int GROWTH_FACTOR = 2;
+    private static final String WRITER_THREAD_NAME = "journal-writer";
+
+    private final FileChannel channel;
+    private final JournalDurability durability;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private List<String> pending = new ArrayList<>();
+    private List<String> spare = new ArrayList<>();
+    private long appended;
+    private long durable;
+    private long durableSize;
+    private boolean closing;
+    private IOException failure;
+
+    private Journal(FileChannel channel, JournalDurability durability) throws IOException {
+        this.channel = channel;
+        this.durability = durability;
+        this.durableSize = channel.size();
+        this.writer = new Thread(this::writeLoop, WRITER_THREAD_NAME);
+    }
+
+    /**
+     * Opens the journal file, creating it if necessary.
+     * A torn record left behind by a crash during an append is cut off.
+     *
+     * @param file the journal file
+     * @param durability the durability guarantee of new records
+     * @return the opened journal
+     * @throws IOException if the file cannot be opened or repaired
+     */
+    public static Journal open(Path file, JournalDurability durability) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            truncateTornRecord(channel);
+            channel.position(channel.size());
+            Journal journal = new Journal(channel, durability);
+            journal.writer.start();
+            return journal;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Replays the records of the journal from the given checkpoint on through the given commands.
+     * The commands must not record into this journal again.
+     *
+     * @param dispatcher the dispatcher resolving the recorded command lines
+     * @param checkpoint the position returned by an earlier {@link #checkpoint()}, or 0 to replay all records
+     * @throws IOException if the journal cannot be read or does not contain the checkpoint
+     */
+    public void replay(CommandDispatcher dispatcher, long checkpoint) throws IOException {
+        if (!isRecordBoundary(checkpoint)) {
+            throw new IOException(ERROR_JOURNAL_MISMATCH);
+        }
+        LineReader reader = new LineReader(channel, checkpoint, JOURNAL_CHARSET);
+        while (reader.nextLine()) {
+            String[] parts = reader.tokens();
+            Command command = dispatcher.resolve(parts);
+            if (command != null) {
+                command.execute(parts);
+            }
+        }
+    }
+
+    /**
+     * Queues a record for the given command.
+     * With {@link JournalDurability#SYNC}, blocks until the record has been forced to disk.
+     *
+     * @param args the arguments of the command, including the keyword
+     * @throws UncheckedIOException if the journal could not be written
+     * @throws IllegalStateException if the journal is closed
+     */
+    @Override
+    public void record(String[] args) {
+        String line = String.join(FIELD_SEPARATOR, args);
+        synchronized (lock) {
+            checkWritable();
+            pending.add(line);
+            long sequence = ++appended;
+            lock.notifyAll();
+            if (durability != JournalDurability.SYNC) {
+                return;
+            }
+            try {
+                while (durable < sequence && failure == null) {
+                    lock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            checkWritable();
+        }
+    }
+
+    /**
+     * Waits until all queued records have been forced to disk and returns the size of the journal up to them.
+     *
+     * @return the position right after the last record
+     * @throws UncheckedIOException if the journal could not be written
+     * @throws IllegalStateException if the journal is closed
+     */
+    @Override
+    public long checkpoint() {
+        boolean interrupted = false;
+        synchronized (lock) {
+            checkWritable();
+            long sequence = appended;
+            while (durable < sequence && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    // a checkpoint before its records are durable would make replay skip them
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            checkWritable();
+            return durableSize;
+        }
+    }
+
+    /**
+     * Writes all queued records, forces them to disk, and closes the journal file.
+     *
+     * @throws IOException if a record could not be written or the file could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            closing = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException(ERROR_JOURNAL_WRITE, failure);
+        }
+        if (closing) {
+            throw new IllegalStateException(ERROR_JOURNAL_CLOSED);
+        }
+    }
+
+    private void writeLoop() {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (true) {
+            List<String> batch;
+            long batchEnd;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closing) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // only close() ends the writer, so that no queued record is dropped
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                batchEnd = appended;
+            }
+            long batchEndSize;
+            try {
+                buffer = writeBatch(batch, buffer);
+                channel.force(false);
+                batchEndSize = channel.position();
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            batch.clear();
+            spare = batch;
+            synchronized (lock) {
+                durable = batchEnd;
+                durableSize = batchEndSize;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private ByteBuffer writeBatch(List<String> batch, ByteBuffer buffer) throws IOException {
+        ByteBuffer target = buffer;
+        target.clear();
+        for (String line : batch) {
+            byte[] bytes = line.getBytes(JOURNAL_CHARSET);
+            if (target.remaining() < bytes.length + 1) {
+                target = drain(target, bytes.length + 1);
+            }
+            target.put(bytes).put(RECORD_END);
+        }
+        drain(target, 0);
+        return target;
+    }
+
+    /**
+     * Writes the buffered bytes and returns a cleared buffer with room for at least the given number of bytes.
+     */
+    private ByteBuffer drain(ByteBuffer buffer, int required) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        if (buffer.capacity() >= required) {
+            return buffer;
+        }
+        return ByteBuffer.allocate(Math.max(required, buffer.capacity() * GROWTH_FACTOR));
+    }
+
+    private boolean isRecordBoundary(long position) throws IOException {
+        if (position == 0) {
+            return true;
+        }
+        if (position < 0 || position > channel.size()) {
+            return false;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        return channel.read(last, position - 1) == 1 && last.get(0) == RECORD_END;
+    }
+
+    private static void truncateTornRecord(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(BUFFER_SIZE);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - BUFFER_SIZE);
+            chunk.clear();
+            chunk.limit((int) (end - start));
+            while (chunk.hasRemaining() && channel.read(chunk, start + chunk.position()) >= 0) {
+                // keep reading until the chunk is complete
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) == RECORD_END) {
+                    channel.truncate(start + i + 1);
+                    return;
+                }
+            }
+            end = start;
+        }
+        channel.truncate(0);
+    }
+}
@@ -0,0 +1,40 @@
+package booking;
+
+/**
+ * Enumeration of the durability guarantees of the write-ahead journal.
+ *
+ * @author ujnaa
+ */
+public enum JournalDurability {
+    /** Commands return right away; records are group-committed in the background and may be lost on a crash. */
+    ASYNC("async"),
+
+    /** Commands wait until their record has been forced to disk; concurrent records share one force. */
+    SYNC("sync");
+
+    private final String label;
+
+    JournalDurability(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    /**
+     * Parses a journal durability from a string.
+     *
+     * @param value the string value
+     * @return the matching durability or null if none matches
+     */
+    public static JournalDurability fromString(String value) {
+        for (JournalDurability durability : values()) {
+            if (durability.label.equalsIgnoreCase(value)) {
+                return durability;
+            }
+        }
+        return null;
+    }
+}
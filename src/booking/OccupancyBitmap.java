@@ -0,0 +1,153 @@
+package booking;
+
+/**
+ * Availability index that stores the occupied nights of a room as a bitmap over epoch days.
+ * Bit {@code i} stands for the night starting on day {@code baseDay + i}. Overlap queries,
+ * insertions, and removals become masked range operations on 64-bit words.
+ * The words are grouped into blocks of {@value #BLOCK_WORDS} words, and a block that was never
+ * written is left out. Like all indexes, the bitmap is persistent: a change copies the short array of
+ * blocks and only the blocks it writes to, and shares all other blocks with the previous bitmap.
+ * The bitmap grows on demand in both directions up to {@link #MAX_WORDS} words; bookings
+ * that would stretch it further are kept in an interval index instead.
+ *
+ * @author ujnaa
+ */
+final class OccupancyBitmap implements AvailabilityIndex {
+
+    /** Maximum number of words of the bitmap, covering roughly 179 years of nights. */
+    static final int MAX_WORDS = 1024;
+
+    private static final int WORD_SHIFT = 6;
+    private static final int BITS_PER_WORD = 1 << WORD_SHIFT;
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCK_WORDS = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_WORDS - 1;
+    private static final int BITS_PER_BLOCK = BLOCK_WORDS * BITS_PER_WORD;
+    private static final int MAX_BLOCKS = MAX_WORDS / BLOCK_WORDS;
+    private static final long ALL_BITS = -1L;
+    private static final long[][] NO_BLOCKS = new long[0][];
+    private static final OccupancyBitmap EMPTY = new OccupancyBitmap(BookingIntervalIndex.empty(), NO_BLOCKS, 0);
+
+    private final BookingIntervalIndex overflow;
+    private final long[][] blocks;
+    private final long baseDay;
+
+    private OccupancyBitmap(BookingIntervalIndex overflow, long[][] blocks, long baseDay) {
+        this.overflow = overflow;
+        this.blocks = blocks;
+        this.baseDay = baseDay;
+    }
+
+    /**
+     * Returns the empty bitmap.
+     *
+     * @return the empty bitmap
+     */
+    static OccupancyBitmap empty() {
+        return EMPTY;
+    }
+
+    @Override
+    public OccupancyBitmap insert(Booking booking) {
+        long from = booking.dateRange().from().toEpochDay();
+        long to = booking.dateRange().to().toEpochDay();
+        long newBase = Math.floorDiv(from, BITS_PER_BLOCK) * BITS_PER_BLOCK;
+        long newEnd = to;
+        if (blocks.length > 0) {
+            newBase = Math.min(baseDay, newBase);
+            newEnd = Math.max(baseDay + capacity(), to);
+        }
+        long blockCount = (newEnd - newBase + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK;
+        if (blockCount > MAX_BLOCKS) {
+            return new OccupancyBitmap(overflow.insert(booking), blocks, baseDay);
+        }
+        long[][] covering = blocks;
+        if (newBase != baseDay || blockCount != blocks.length) {
+            covering = new long[(int) blockCount][];
+            if (blocks.length > 0) {
+                System.arraycopy(blocks, 0, covering, (int) ((baseDay - newBase) / BITS_PER_BLOCK), blocks.length);
+            }
+        }
+        return new OccupancyBitmap(overflow, withRange(covering, from - newBase, to - newBase, true), newBase);
+    }
+
+    @Override
+    public OccupancyBitmap remove(Booking booking) {
+        BookingIntervalIndex remainingOverflow = overflow.remove(booking);
+        if (remainingOverflow != overflow) {
+            return new OccupancyBitmap(remainingOverflow, blocks, baseDay);
+        }
+        long from = booking.dateRange().from().toEpochDay() - baseDay;
+        long to = booking.dateRange().to().toEpochDay() - baseDay;
+        if (from < 0 || to > capacity()) {
+            return this;
+        }
+        return new OccupancyBitmap(overflow, withRange(blocks, from, to, false), baseDay);
+    }
+
+    @Override
+    public boolean overlaps(DateRange range) {
+        long from = Math.max(range.from().toEpochDay() - baseDay, 0);
+        long to = Math.min(range.to().toEpochDay() - baseDay, capacity());
+        if (from < to && anySet(from, to)) {
+            return true;
+        }
+        return overflow.overlaps(range);
+    }
+
+    private long capacity() {
+        return (long) blocks.length * BITS_PER_BLOCK;
+    }
+
+    private long word(int index) {
+        long[] block = blocks[index >>> BLOCK_SHIFT];
+        return block == null ? 0 : block[index & BLOCK_MASK];
+    }
+
+    private boolean anySet(long from, long to) {
+        int firstWord = (int) (from >>> WORD_SHIFT);
+        int lastWord = (int) ((to - 1) >>> WORD_SHIFT);
+        long firstMask = ALL_BITS << from;
+        long lastMask = ALL_BITS >>> -to;
+        if (firstWord == lastWord) {
+            return (word(firstWord) & firstMask & lastMask) != 0;
+        }
+        if ((word(firstWord) & firstMask) != 0) {
+            return true;
+        }
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            if (word(i) != 0) {
+                return true;
+            }
+        }
+        return (word(lastWord) & lastMask) != 0;
+    }
+
+    /**
+     * Returns a copy of the given blocks with the nights from {@code from} (inclusive) to {@code to} (exclusive)
+     * set or cleared. Only the blocks containing these nights are copied; all others are shared.
+     */
+    private static long[][] withRange(long[][] source, long from, long to, boolean occupied) {
+        long[][] target = source.clone();
+        int firstWord = (int) (from >>> WORD_SHIFT);
+        int lastWord = (int) ((to - 1) >>> WORD_SHIFT);
+        long[] block = null;
+        for (int word = firstWord; word <= lastWord; word++) {
+            int offset = word & BLOCK_MASK;
+            if (block == null || offset == 0) {
+                long[] original = target[word >>> BLOCK_SHIFT];
+                block = original == null ? new long[BLOCK_WORDS] : original.clone();
+                target[word >>> BLOCK_SHIFT] = block;
+            }
+            long mask = ALL_BITS;
+            if (word == firstWord) {
+                mask &= ALL_BITS << from;
+            }
+            if (word == lastWord) {
+                mask &= ALL_BITS >>> -to;
+            }
+            block[offset] = occupied ? block[offset] | mask : block[offset] & ~mask;
+        }
+        return target;
+    }
+}
@@ -1,12 +1,24 @@
 package booking;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Represents a room in a hotel.
  * Each room has a unique number within a hotel, a category (e.g., Single, Double, Suite),
- * a price per night, and a list of bookings.
+ * a price per night, and its bookings. Bookings are additionally kept in an availability index
+ * so that availability checks do not have to scan every booking of the room.
+ * The booking state of a room is guarded by its own lock, so bookings of different rooms
+ * can be made in parallel. A caller that checks availability and then adds a booking
+ * must hold the lock across both steps, see {@link #lock()}.
+ * The availability index is persistent: every change builds a new index that shares all unchanged
+ * parts with the old one and publishes it in one volatile write, so availability checks never lock
+ * and always see a complete state, while a change only costs O(log n) for the interval engine
+ * and a few words for the bitmap engine.
  *
  * @author ujnaa
  */
@@ -15,21 +27,37 @@ public class Room {
     private final int number;
     private final RoomCategory category;
     private final double price;
-    private final List<Booking> bookings;
+    private final Map<Integer, Booking> bookings;
+    private volatile AvailabilityIndex availability;
+    private final ReentrantLock lock = new ReentrantLock();
 
 
     /**
-     * Constructs a new Room with the specified number, category, and price.
+     * Constructs a new Room with the specified number, category, and price
+     * that uses the interval availability engine.
      *
      * @param number the room number (unique within a hotel)
      * @param category the room category
      * @param price the price per night
      */
     public Room(int number, RoomCategory category, double price) {
+        this(number, category, price, AvailabilityEngine.INTERVAL);
+    }
+
+    /**
+     * Constructs a new Room with the specified number, category, price, and availability engine.
+     *
+     * @param number the room number (unique within a hotel)
+     * @param category the room category
+     * @param price the price per night
+     * @param engine the engine answering availability checks for this room
+     */
+    public Room(int number, RoomCategory category, double price, AvailabilityEngine engine) {
         this.number = number;
         this.category = category;
         this.price = price;
-        this.bookings = new ArrayList<>();
+        this.bookings = new LinkedHashMap<>();
+        this.availability = engine.createIndex();
     }
 
     /**
@@ -67,46 +95,54 @@ public class Room {
      * @return true if the room is available, false otherwise
      */
     public boolean isAvailable(DateRange range) {
-        for (Booking booking : bookings) {
-            if (!(!range.to().isAfter(booking.dateRange().from())
-                    || !range.from().isBefore(booking.dateRange().to()))) {
-                return false;
-            }
-        }
-        return true;
+        return !availability.overlaps(range);
     }
 
     /**
-     * Checks if the room contains a booking with the given ID.
+     * Returns an unmodifiable view of all bookings for this room in insertion order.
+     * The view may only be iterated while holding the lock of the room
+     * or while no other thread can change the room.
      *
-     * @param bookingId the booking ID to check
-     * @return true if a matching booking exists, false otherwise
+     * @return the bookings of this room
      */
-    public boolean hasBooking(int bookingId) {
-        for (Booking booking : bookings) {
-            if (booking.bookingId() == bookingId) {
-                return true;
-            }
-        }
-        return false;
+    public Collection<Booking> getBookings() {
+        return Collections.unmodifiableCollection(bookings.values());
     }
 
     /**
-     * Returns all bookings for this room.
+     * Adds a booking to the room.
+     * The caller must have checked {@link #isAvailable(DateRange)} for the booking's date range,
+     * since the bookings of a room are not allowed to overlap.
      *
-     * @return the list of bookings
+     * @param booking the booking to add
      */
-    public List<Booking> getBookings() {
-        return bookings;
+    public void addBooking(Booking booking) {
+        lock.lock();
+        try {
+            bookings.put(booking.bookingId(), booking);
+            availability = availability.insert(booking);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Adds a booking to the room.
+     * Adds bookings restored from a snapshot, publishing a single new availability index for all of them.
      *
-     * @param booking the booking to add
+     * @param restored the non-overlapping bookings to add
      */
-    public void addBooking(Booking booking) {
-        bookings.add(booking);
+    void restoreBookings(List<Booking> restored) {
+        lock.lock();
+        try {
+            AvailabilityIndex next = availability;
+            for (Booking booking : restored) {
+                bookings.put(booking.bookingId(), booking);
+                next = next.insert(booking);
+            }
+            availability = next;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -115,6 +151,29 @@ public class Room {
      * @param bookingId the ID of the booking to remove
      */
     public void removeBooking(int bookingId) {
-        bookings.removeIf(b -> b.bookingId() == bookingId);
+        lock.lock();
+        try {
+            Booking booking = bookings.remove(bookingId);
+            if (booking != null) {
+                availability = availability.remove(booking);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires the lock guarding the bookings of this room, waiting if another thread holds it.
+     * The lock is reentrant, so the other methods of the room may be called while holding it.
+     */
+    public void lock() {
+        lock.lock();
+    }
+
+    /**
+     * Releases the lock acquired by {@link #lock()}.
+     */
+    public void unlock() {
+        lock.unlock();
     }
 }
@@ -0,0 +1,82 @@
+package booking;
+
+import java.util.Collection;
+
+/**
+ * Immutable struct-of-arrays copy of the rooms of one search bucket in a fixed order.
+ * Hotel IDs, room numbers, and prices are held in parallel primitive arrays, so search loops that
+ * compare prices or order rooms scan contiguous memory and only dereference a {@link Room} once it
+ * has to be checked for availability or printed. Index {@code i} of every array describes the same room.
+ *
+ * @author ujnaa
+ */
+final class RoomColumns {
+
+    final int[] hotelIds;
+    final int[] numbers;
+    final double[] prices;
+    final Hotel[] hotels;
+    final Room[] rooms;
+
+    private RoomColumns(int size) {
+        this.hotelIds = new int[size];
+        this.numbers = new int[size];
+        this.prices = new double[size];
+        this.hotels = new Hotel[size];
+        this.rooms = new Room[size];
+    }
+
+    /**
+     * Copies the given rooms into columns, keeping their iteration order.
+     *
+     * @param locations the rooms with their hotels
+     * @return the columns
+     */
+    static RoomColumns of(Collection<RoomLocation> locations) {
+        RoomColumns columns = new RoomColumns(locations.size());
+        int i = 0;
+        for (RoomLocation location : locations) {
+            columns.hotels[i] = location.hotel();
+            columns.rooms[i] = location.room();
+            columns.hotelIds[i] = location.hotel().getId();
+            columns.numbers[i] = location.room().getNumber();
+            columns.prices[i] = location.room().getPrice();
+            i++;
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the number of rooms.
+     *
+     * @return the size of the columns
+     */
+    int size() {
+        return rooms.length;
+    }
+
+    /**
+     * Returns the room at the given index together with its hotel.
+     *
+     * @param index the index of the room
+     * @return the location of the room
+     */
+    RoomLocation location(int index) {
+        return new RoomLocation(hotels[index], rooms[index]);
+    }
+
+    /**
+     * Checks whether the room at the first index comes before the room at the second index
+     * by hotel ID and room number.
+     *
+     * @param index the index of the first room
+     * @param other the index of the second room
+     * @return true if the first room comes first, false otherwise
+     */
+    boolean isBefore(int index, int other) {
+        if (hotelIds[index] != hotelIds[other]) {
+            return hotelIds[index] < hotelIds[other];
+        }
+        return numbers[index] < numbers[other];
+    }
+}
@@ -0,0 +1,12 @@
+package booking;
+
+/**
+ * Pairs a room with the hotel it belongs to.
+ * Used by the indexes that have to answer queries without walking the hotel map.
+ *
+ * @param hotel the hotel that owns the room
+ * @param room the room itself
+ * @author ujnaa
+ */
+public record RoomLocation(Hotel hotel, Room room) {
+}
@@ -0,0 +1,383 @@
+package booking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Secondary index of all rooms keyed by city and room category.
+ * Each bucket keeps its rooms twice: ordered by hotel ID and room number, so the search commands
+ * only touch matching rooms and can print them without sorting, and ordered by nightly price,
+ * so the cheapest free room can be found by probing rooms in price order.
+ * Searches scan a struct-of-arrays copy of each order, see {@link RoomColumns}, which is built on first use
+ * and kept until the bucket changes. Searches in a bucket with at least {@link #getParallelThreshold()} rooms
+ * are split into fork-join tasks over slices of the columns; smaller buckets are scanned on the caller thread.
+ * The search for the cheapest room keeps its early exit in large buckets: it probes the cheapest
+ * {@value #SEQUENTIAL_PROBES} rooms on the caller thread first and only splits the rest of the bucket
+ * if none of them is available.
+ *
+ * @author ujnaa
+ */
+public final class RoomSearchIndex {
+
+    /** Default number of rooms of one city and category from which searches run in parallel. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    private static final int LEAF_SIZE = 1024;
+    private static final int SEQUENTIAL_PROBES = 1024;
+    private static final int NOT_FOUND = -1;
+
+    private static final Comparator<RoomLocation> BY_HOTEL_AND_ROOM =
+            Comparator.<RoomLocation>comparingInt(location -> location.hotel().getId())
+                    .thenComparingInt(location -> location.room().getNumber());
+    private static final Comparator<RoomLocation> BY_PRICE =
+            Comparator.<RoomLocation>comparingDouble(location -> location.room().getPrice())
+                    .thenComparing(BY_HOTEL_AND_ROOM);
+
+    private final Map<String, Map<RoomCategory, Bucket>> cities = new HashMap<>();
+    private final int parallelThreshold;
+
+    /**
+     * Constructs an empty index that searches in parallel from {@link #DEFAULT_PARALLEL_THRESHOLD} rooms.
+     */
+    public RoomSearchIndex() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param parallelThreshold the number of rooms of one city and category from which searches run in parallel
+     */
+    public RoomSearchIndex(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns the number of rooms of one city and category from which searches run in parallel.
+     *
+     * @return the parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Registers a hotel and all of its current rooms.
+     *
+     * @param hotel the hotel to register
+     */
+    public void addHotel(Hotel hotel) {
+        cities.computeIfAbsent(hotel.getCity(), city -> new EnumMap<>(RoomCategory.class));
+        for (Room room : hotel.getRooms()) {
+            addRoom(hotel, room);
+        }
+    }
+
+    /**
+     * Removes a hotel and all of its rooms from the index.
+     *
+     * @param hotel the hotel to remove
+     */
+    public void removeHotel(Hotel hotel) {
+        for (Room room : hotel.getRooms()) {
+            removeRoom(hotel, room);
+        }
+    }
+
+    /**
+     * Adds a room of the given hotel to the index.
+     *
+     * @param hotel the hotel that owns the room
+     * @param room the room to add
+     */
+    public void addRoom(Hotel hotel, Room room) {
+        cities.computeIfAbsent(hotel.getCity(), city -> new EnumMap<>(RoomCategory.class))
+                .computeIfAbsent(room.getCategory(), category -> new Bucket())
+                .add(new RoomLocation(hotel, room));
+    }
+
+    /**
+     * Removes a room of the given hotel from the index.
+     *
+     * @param hotel the hotel that owns the room
+     * @param room the room to remove
+     */
+    public void removeRoom(Hotel hotel, Room room) {
+        Bucket bucket = bucket(hotel.getCity(), room.getCategory());
+        if (bucket != null) {
+            bucket.remove(new RoomLocation(hotel, room));
+        }
+    }
+
+    /**
+     * Returns all rooms of the given category in the given city that are available for the given range,
+     * ordered by hotel ID and room number.
+     *
+     * @param city the city to search in
+     * @param category the room category
+     * @param range the date range the rooms must be free for
+     * @return the available rooms, possibly empty
+     */
+    public List<RoomLocation> findAvailableRooms(String city, RoomCategory category, DateRange range) {
+        Bucket bucket = bucket(city, category);
+        if (bucket == null) {
+            return List.of();
+        }
+        RoomColumns rooms = bucket.hotelOrder();
+        if (rooms.size() < parallelThreshold) {
+            return collectAvailable(rooms, 0, rooms.size(), range);
+        }
+        return ForkJoinPool.commonPool().invoke(new AvailableScan(rooms, 0, rooms.size(), range));
+    }
+
+    /**
+     * Returns all rooms of the given category in the given city whose price per night lies within the
+     * given bounds and that are available for the given range, ordered by price, then hotel ID, then room number.
+     * The bounds are located by binary search in the price order, so only rooms inside the price band
+     * are checked for availability.
+     *
+     * @param city the city to search in
+     * @param category the room category
+     * @param range the date range the rooms must be free for
+     * @param minPrice the lowest price per night, inclusive
+     * @param maxPrice the highest price per night, inclusive
+     * @return the available rooms, possibly empty
+     */
+    public List<RoomLocation> findAvailableRoomsInPriceRange(String city, RoomCategory category, DateRange range,
+                                                             double minPrice, double maxPrice) {
+        Bucket bucket = bucket(city, category);
+        if (bucket == null) {
+            return List.of();
+        }
+        RoomColumns rooms = bucket.priceOrder();
+        int from = firstPriceIndex(rooms.prices, minPrice, false);
+        int to = firstPriceIndex(rooms.prices, maxPrice, true);
+        if (to - from < parallelThreshold) {
+            return collectAvailable(rooms, from, Math.max(from, to), range);
+        }
+        return ForkJoinPool.commonPool().invoke(new AvailableScan(rooms, from, to, range));
+    }
+
+    /**
+     * Returns the available room of the given category in the given city with the lowest total price
+     * for the given range. Of several rooms with the same total price, the one with the lowest hotel ID
+     * and room number is returned. Rooms whose total price reaches {@link Double#MAX_VALUE} are never returned.
+     *
+     * @param city the city to search in
+     * @param category the room category
+     * @param range the date range the room must be free for
+     * @param nights the number of nights the total price is calculated for
+     * @return the cheapest available room, or null if there is none
+     */
+    public RoomLocation findCheapestRoom(String city, RoomCategory category, DateRange range, int nights) {
+        Bucket bucket = bucket(city, category);
+        if (bucket == null) {
+            return null;
+        }
+        RoomColumns rooms = bucket.priceOrder();
+        int size = rooms.size();
+        int probed = size < parallelThreshold ? size : Math.min(size, SEQUENTIAL_PROBES);
+        int cheapest = findCheapest(rooms, 0, probed, range, nights, NOT_FOUND);
+        if (cheapest == NOT_FOUND && probed < size) {
+            cheapest = ForkJoinPool.commonPool().invoke(new CheapestScan(rooms, probed, size, range, nights));
+        } else {
+            // rooms after the probed ones can only win with the same total price
+            cheapest = findCheapest(rooms, probed, size, range, nights, cheapest);
+        }
+        return cheapest == NOT_FOUND ? null : rooms.location(cheapest);
+    }
+
+    /**
+     * Returns the index of the first of the ascending prices that is not below the bound,
+     * or, if prices equal to the bound are skipped, the first that is above it.
+     */
+    private static int firstPriceIndex(double[] prices, double bound, boolean skipEqual) {
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (prices[middle] < bound || (skipEqual && prices[middle] == bound)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static List<RoomLocation> collectAvailable(RoomColumns rooms, int from, int to, DateRange range) {
+        List<RoomLocation> available = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (rooms.rooms[i].isAvailable(range)) {
+                available.add(rooms.location(i));
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Probes a slice of rooms in ascending price order and stops as soon as no later room can be cheaper.
+     * Only the price column is read until a room is cheap enough to be checked for availability.
+     * The search continues from the given best room of the rooms before the slice, if there is one.
+     *
+     * @return the index of the cheapest available room, or {@link #NOT_FOUND}
+     */
+    private static int findCheapest(RoomColumns roomsByPrice, int from, int to, DateRange range, int nights,
+                                    int foundRoom) {
+        double[] prices = roomsByPrice.prices;
+        int bestRoom = foundRoom;
+        double bestTotalPrice = foundRoom == NOT_FOUND ? Double.MAX_VALUE : prices[foundRoom] * nights;
+        for (int i = from; i < to; i++) {
+            double totalPrice = prices[i] * nights;
+            // rooms come in ascending price order, so once a room is found only equal totals can still win
+            if (bestRoom == NOT_FOUND ? !(totalPrice < bestTotalPrice) : totalPrice != bestTotalPrice) {
+                break;
+            }
+            if (!roomsByPrice.rooms[i].isAvailable(range)) {
+                continue;
+            }
+            if (bestRoom == NOT_FOUND || roomsByPrice.isBefore(i, bestRoom)) {
+                bestRoom = i;
+                bestTotalPrice = totalPrice;
+            }
+        }
+        return bestRoom;
+    }
+
+    private Bucket bucket(String city, RoomCategory category) {
+        Map<RoomCategory, Bucket> categories = cities.get(city);
+        if (categories == null) {
+            return null;
+        }
+        return categories.get(category);
+    }
+
+    /**
+     * Rooms of one city and category in both search orders.
+     * The column copies used by searches are built on first use and dropped on every change.
+     */
+    private static final class Bucket {
+
+        private final NavigableSet<RoomLocation> byHotelAndRoom = new TreeSet<>(BY_HOTEL_AND_ROOM);
+        private final NavigableSet<RoomLocation> byPrice = new TreeSet<>(BY_PRICE);
+        private volatile RoomColumns hotelOrder;
+        private volatile RoomColumns priceOrder;
+
+        private void add(RoomLocation location) {
+            byHotelAndRoom.add(location);
+            byPrice.add(location);
+            hotelOrder = null;
+            priceOrder = null;
+        }
+
+        private void remove(RoomLocation location) {
+            byHotelAndRoom.remove(location);
+            byPrice.remove(location);
+            hotelOrder = null;
+            priceOrder = null;
+        }
+
+        private RoomColumns hotelOrder() {
+            RoomColumns rooms = hotelOrder;
+            if (rooms == null) {
+                rooms = RoomColumns.of(byHotelAndRoom);
+                hotelOrder = rooms;
+            }
+            return rooms;
+        }
+
+        private RoomColumns priceOrder() {
+            RoomColumns rooms = priceOrder;
+            if (rooms == null) {
+                rooms = RoomColumns.of(byPrice);
+                priceOrder = rooms;
+            }
+            return rooms;
+        }
+    }
+
+    /**
+     * Collects the available rooms of a slice of a bucket; the results of both halves are concatenated,
+     * which keeps the order of the slice.
+     */
+    @SuppressWarnings("serial")
+    private static final class AvailableScan extends RecursiveTask<List<RoomLocation>> {
+
+        private final RoomColumns rooms;
+        private final int from;
+        private final int to;
+        private final DateRange range;
+
+        private AvailableScan(RoomColumns rooms, int from, int to, DateRange range) {
+            this.rooms = rooms;
+            this.from = from;
+            this.to = to;
+            this.range = range;
+        }
+
+        @Override
+        protected List<RoomLocation> compute() {
+            if (to - from <= LEAF_SIZE) {
+                return collectAvailable(rooms, from, to, range);
+            }
+            int middle = (from + to) >>> 1;
+            AvailableScan right = new AvailableScan(rooms, middle, to, range);
+            right.fork();
+            List<RoomLocation> available = new AvailableScan(rooms, from, middle, range).compute();
+            available.addAll(right.join());
+            return available;
+        }
+    }
+
+    /**
+     * Finds the cheapest available room of a slice of a bucket in price order.
+     * Since the slice of the left half comes first in price order, its result wins unless the right half
+     * found a room with the same total price that comes first by hotel ID and room number.
+     */
+    @SuppressWarnings("serial")
+    private static final class CheapestScan extends RecursiveTask<Integer> {
+
+        private final RoomColumns roomsByPrice;
+        private final int from;
+        private final int to;
+        private final DateRange range;
+        private final int nights;
+
+        private CheapestScan(RoomColumns roomsByPrice, int from, int to, DateRange range, int nights) {
+            this.roomsByPrice = roomsByPrice;
+            this.from = from;
+            this.to = to;
+            this.range = range;
+            this.nights = nights;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= LEAF_SIZE) {
+                return findCheapest(roomsByPrice, from, to, range, nights, NOT_FOUND);
+            }
+            int middle = (from + to) >>> 1;
+            CheapestScan right = new CheapestScan(roomsByPrice, middle, to, range, nights);
+            right.fork();
+            int left = new CheapestScan(roomsByPrice, from, middle, range, nights).compute();
+            int other = right.join();
+            if (left == NOT_FOUND) {
+                return other;
+            }
+            double[] prices = roomsByPrice.prices;
+            if (other != NOT_FOUND && prices[other] * nights == prices[left] * nights
+                    && roomsByPrice.isBefore(other, left)) {
+                return other;
+            }
+            return left;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package booking;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Command-line options of the hotel booking server.
+ *
+ * @param engine the availability engine used by all rooms
+ * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+ * @param snapshotFile the snapshot to load the initial state from, or null to start empty
+ * @param port the loopback port to listen on, or 0 to pick a free port
+ * @author ujnaa
+ */
+record ServerOptions(AvailabilityEngine engine, int parallelSearchThreshold, Path snapshotFile, int port) {
+
+    /** Usage of the server's command-line options. */
+    static final String USAGE = "[--engine=<interval|bitmap>] [--parallel-threshold=<Rooms>]"
+            + " [--snapshot=<SnapshotFile>] [--port=<Port>]";
+
+    private static final String OPTION_ENGINE = "--engine=";
+    private static final String OPTION_PARALLEL_THRESHOLD = "--parallel-threshold=";
+    private static final String OPTION_SNAPSHOT = "--snapshot=";
+    private static final String OPTION_PORT = "--port=";
+    private static final int DEFAULT_PORT = 4711;
+    private static final int MAX_PORT = 65535;
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args the command-line arguments
+     * @return the parsed options, or null if the arguments are invalid
+     */
+    static ServerOptions parse(String[] args) {
+        AvailabilityEngine engine = AvailabilityEngine.INTERVAL;
+        int parallelSearchThreshold = RoomSearchIndex.DEFAULT_PARALLEL_THRESHOLD;
+        Path snapshotFile = null;
+        int port = DEFAULT_PORT;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(OPTION_ENGINE)) {
+                    engine = AvailabilityEngine.fromString(arg.substring(OPTION_ENGINE.length()));
+                    if (engine == null) {
+                        return null;
+                    }
+                } else if (arg.startsWith(OPTION_PARALLEL_THRESHOLD)) {
+                    parallelSearchThreshold = Integer.parseInt(arg.substring(OPTION_PARALLEL_THRESHOLD.length()));
+                    if (parallelSearchThreshold < 0) {
+                        return null;
+                    }
+                } else if (arg.startsWith(OPTION_SNAPSHOT)) {
+                    snapshotFile = Path.of(arg.substring(OPTION_SNAPSHOT.length()));
+                } else if (arg.startsWith(OPTION_PORT)) {
+                    port = Integer.parseInt(arg.substring(OPTION_PORT.length()));
+                    if (port < 0 || port > MAX_PORT) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+        } catch (InvalidPathException | NumberFormatException e) {
+            return null;
+        }
+        return new ServerOptions(engine, parallelSearchThreshold, snapshotFile, port);
+    }
+}
@@ -0,0 +1,334 @@
+package booking;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact binary snapshot of the complete state of a {@link BookingSystem}.
+ * The file is read and written sequentially through a large reusable buffer. After a header with
+ * the journal checkpoint the snapshot was taken at and both ID counters, it contains three
+ * count-prefixed sections: customers, active bookings, and hotels with their rooms, where each room
+ * lists the IDs of its bookings.
+ * Strings are stored as length-prefixed UTF-8.
+ * Reading checks every count against the remaining size of the file and every reference against the
+ * records read so far, so a truncated or damaged file is reported as corrupt instead of failing later.
+ *
+ * @author ujnaa
+ */
+public final class Snapshot {
+
+    /** Error message when a file is not a snapshot of a supported version. */
+    public static final String ERROR_NOT_A_SNAPSHOT = "not a hotel booking snapshot";
+    /** Error message when a snapshot ends early or contains inconsistent data. */
+    public static final String ERROR_CORRUPT_SNAPSHOT = "corrupt snapshot";
+
+    /** Magic number whose last byte is the format version. */
+    private static final int MAGIC = 0x48425333;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int MIN_STRING_BYTES = Integer.BYTES;
+    private static final int MIN_CUSTOMER_BYTES = Integer.BYTES + MIN_STRING_BYTES + MIN_STRING_BYTES;
+    private static final int MIN_BOOKING_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int MIN_HOTEL_BYTES = Integer.BYTES + MIN_STRING_BYTES + Integer.BYTES;
+    private static final int MIN_ROOM_BYTES = Integer.BYTES + Byte.BYTES + Double.BYTES + Integer.BYTES;
+
+    private Snapshot() {
+        // prevents instantiation
+    }
+
+    /**
+     * Writes a snapshot of the given system.
+     * The snapshot is written to a temporary file first, which then replaces the target file.
+     *
+     * @param system the system to write
+     * @param file the snapshot file
+     * @param journalCheckpoint the position after the last journal record contained in the state, or 0
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(BookingSystem system, Path file, long journalCheckpoint) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putLong(journalCheckpoint);
+            out.putInt(system.bookingManager().getNextBookingId());
+            out.putInt(system.customerManager().getNextId());
+
+            Collection<Customer> customers = system.customerManager().getAllCustomers();
+            out.putInt(customers.size());
+            for (Customer customer : customers) {
+                out.putInt(customer.getCustomerId());
+                out.putString(customer.getFirstName());
+                out.putString(customer.getLastName());
+            }
+
+            Collection<Booking> bookings = system.bookingManager().getAllBookings();
+            out.putInt(bookings.size());
+            for (Booking booking : bookings) {
+                out.putInt(booking.bookingId());
+                out.putInt(booking.customer().getCustomerId());
+                out.putLong(booking.dateRange().from().toEpochDay());
+                out.putLong(booking.dateRange().to().toEpochDay());
+            }
+
+            Collection<Hotel> hotels = system.hotels().values();
+            out.putInt(hotels.size());
+            for (Hotel hotel : hotels) {
+                out.putInt(hotel.getId());
+                out.putString(hotel.getCity());
+                out.putInt(hotel.getRooms().size());
+                for (Room room : hotel.getRooms()) {
+                    out.putInt(room.getNumber());
+                    out.putByte((byte) room.getCategory().ordinal());
+                    out.putDouble(room.getPrice());
+                    out.putInt(room.getBookings().size());
+                    for (Booking booking : room.getBookings()) {
+                        out.putInt(booking.bookingId());
+                    }
+                }
+            }
+            out.finish();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a snapshot into the given empty system.
+     *
+     * @param file the snapshot file
+     * @param system the system to restore the state into
+     * @return the journal checkpoint the snapshot was taken at, from which a journal replay continues
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static long read(Path file, BookingSystem system) throws IOException {
+        AvailabilityEngine engine = system.engine();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Input in = new Input(channel);
+            if (in.getInt() != MAGIC) {
+                throw new IOException(ERROR_NOT_A_SNAPSHOT);
+            }
+            long journalCheckpoint = in.getLong();
+            BookingManager bookingManager = system.bookingManager();
+            CustomerManager customerManager = system.customerManager();
+            int nextBookingId = in.getInt();
+            int nextCustomerId = in.getInt();
+            if (journalCheckpoint < 0 || nextBookingId < BookingManager.INITIAL_BOOKING_ID
+                    || nextCustomerId < CustomerManager.INITIAL_CUSTOMER_ID) {
+                throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+            }
+            bookingManager.restoreNextBookingId(nextBookingId);
+            customerManager.restoreNextId(nextCustomerId);
+
+            int customerCount = in.getCount(MIN_CUSTOMER_BYTES);
+            for (int i = 0; i < customerCount; i++) {
+                int customerId = checkId(in.getInt(), CustomerManager.INITIAL_CUSTOMER_ID, nextCustomerId);
+                String firstName = in.getString();
+                String lastName = in.getString();
+                if (customerManager.getCustomer(customerId) != null
+                        || customerManager.getCustomer(firstName, lastName) != null) {
+                    throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                }
+                customerManager.restoreCustomer(customerId, firstName, lastName);
+            }
+
+            int bookingCount = in.getCount(MIN_BOOKING_BYTES);
+            for (int i = 0; i < bookingCount; i++) {
+                int bookingId = checkId(in.getInt(), BookingManager.INITIAL_BOOKING_ID, nextBookingId);
+                Customer customer = customerManager.getCustomer(
+                        checkId(in.getInt(), CustomerManager.INITIAL_CUSTOMER_ID, nextCustomerId));
+                LocalDate from = LocalDate.ofEpochDay(in.getLong());
+                LocalDate to = LocalDate.ofEpochDay(in.getLong());
+                if (customer == null || !from.isBefore(to) || bookingManager.getBookingById(bookingId) != null) {
+                    throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                }
+                bookingManager.restoreBooking(new Booking(bookingId, customer, new DateRange(from, to)));
+            }
+            bookingManager.compactRestored();
+
+            RoomCategory[] categories = RoomCategory.values();
+            IntMap<Hotel> hotels = system.hotels();
+            int hotelCount = in.getCount(MIN_HOTEL_BYTES);
+            for (int i = 0; i < hotelCount; i++) {
+                Hotel hotel = new Hotel(in.getInt(), in.getString());
+                if (hotels.containsKey(hotel.getId())) {
+                    throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                }
+                int roomCount = in.getCount(MIN_ROOM_BYTES);
+                List<Booking> roomBookings = new ArrayList<>();
+                for (int j = 0; j < roomCount; j++) {
+                    int number = in.getInt();
+                    RoomCategory category = categories[checkId(in.getByte(), 0, categories.length)];
+                    Room room = new Room(number, category, in.getDouble(), engine);
+                    if (hotel.getRoom(number) != null) {
+                        throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                    }
+                    roomBookings.clear();
+                    int roomBookingCount = in.getCount(Integer.BYTES);
+                    for (int k = 0; k < roomBookingCount; k++) {
+                        int bookingId = checkId(in.getInt(), BookingManager.INITIAL_BOOKING_ID, nextBookingId);
+                        Booking booking = bookingManager.getBookingById(bookingId);
+                        if (booking == null || bookingManager.getLocation(bookingId) != null) {
+                            throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                        }
+                        roomBookings.add(booking);
+                        bookingManager.restoreLocation(bookingId, new RoomLocation(hotel, room));
+                    }
+                    room.restoreBookings(roomBookings);
+                    hotel.addRoom(room);
+                }
+                hotels.put(hotel.getId(), hotel);
+                system.searchIndex().addHotel(hotel);
+            }
+            return journalCheckpoint;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException
+                 | DateTimeException e) {
+            throw new IOException(ERROR_CORRUPT_SNAPSHOT, e);
+        }
+    }
+
+    private static int checkId(int id, int lowerBound, int upperBound) throws IOException {
+        if (id < lowerBound || id >= upperBound) {
+            throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+        }
+        return id;
+    }
+
+    /**
+     * Buffered sequential writer of primitive values.
+     */
+    private static final class Output {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void putByte(byte value) throws IOException {
+            ensure(Byte.BYTES).put(value);
+        }
+
+        private void putInt(int value) throws IOException {
+            ensure(Integer.BYTES).putInt(value);
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(Long.BYTES).putLong(value);
+        }
+
+        private void putDouble(double value) throws IOException {
+            ensure(Double.BYTES).putDouble(value);
+        }
+
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            ensure(bytes.length).put(bytes);
+        }
+
+        private ByteBuffer ensure(int size) throws IOException {
+            if (buffer.remaining() < size) {
+                finish();
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocateDirect(size);
+                }
+            }
+            return buffer;
+        }
+
+        private void finish() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Buffered sequential reader of primitive values.
+     */
+    private static final class Input {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Input(FileChannel channel) {
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        private byte getByte() throws IOException {
+            return ensure(Byte.BYTES).get();
+        }
+
+        private int getInt() throws IOException {
+            return ensure(Integer.BYTES).getInt();
+        }
+
+        private long getLong() throws IOException {
+            return ensure(Long.BYTES).getLong();
+        }
+
+        private double getDouble() throws IOException {
+            return ensure(Double.BYTES).getDouble();
+        }
+
+        /**
+         * Reads a count of records and checks that the rest of the file can hold that many records.
+         */
+        private int getCount(int minRecordBytes) throws IOException {
+            int count = getInt();
+            if (count < 0 || (long) count * minRecordBytes > remaining()) {
+                throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+            }
+            return count;
+        }
+
+        private String getString() throws IOException {
+            int length = getCount(Byte.BYTES);
+            byte[] bytes = new byte[length];
+            ensure(length).get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long remaining() throws IOException {
+            return channel.size() - channel.position() + buffer.remaining();
+        }
+
+        private ByteBuffer ensure(int size) throws IOException {
+            if (buffer.remaining() >= size) {
+                return buffer;
+            }
+            if (buffer.capacity() < size) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(size);
+                grown.put(buffer);
+                grown.flip();
+                buffer = grown;
+            }
+            buffer.compact();
+            while (buffer.position() < size) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException(ERROR_CORRUPT_SNAPSHOT);
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+}
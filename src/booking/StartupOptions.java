@@ -0,0 +1,90 @@
+package booking;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Command-line options of the hotel booking system.
+ *
+ * @param engine the availability engine used by all rooms
+ * @param parallelSearchThreshold the number of rooms of one city and category from which searches run in parallel
+ * @param snapshotFile the snapshot to load the initial state from, or null to start empty
+ * @param batchFile the command file to replay, or null to read commands from standard input
+ * @param outputFile the file receiving the output of a batch run, or null to write to standard output
+ * @param journalFile the write-ahead journal to replay and append to, or null to keep state in memory only
+ * @param durability the durability guarantee of journal records
+ * @author ujnaa
+ */
+record StartupOptions(AvailabilityEngine engine, int parallelSearchThreshold, Path snapshotFile, Path batchFile,
+                      Path outputFile, Path journalFile, JournalDurability durability) {
+
+    /** Usage of the program's command-line options. */
+    static final String USAGE = "[--engine=<interval|bitmap>] [--parallel-threshold=<Rooms>]"
+            + " [--snapshot=<SnapshotFile>]"
+            + " [--batch=<CommandFile> [--output=<OutputFile>]]"
+            + " [--journal=<JournalFile> [--durability=<async|sync>]]";
+
+    private static final String OPTION_ENGINE = "--engine=";
+    private static final String OPTION_PARALLEL_THRESHOLD = "--parallel-threshold=";
+    private static final String OPTION_SNAPSHOT = "--snapshot=";
+    private static final String OPTION_BATCH = "--batch=";
+    private static final String OPTION_OUTPUT = "--output=";
+    private static final String OPTION_JOURNAL = "--journal=";
+    private static final String OPTION_DURABILITY = "--durability=";
+
+    /**
+     * Parses the command-line arguments.
+     *
+     * @param args the command-line arguments
+     * @return the parsed options, or null if the arguments are invalid
+     */
+    static StartupOptions parse(String[] args) {
+        AvailabilityEngine engine = AvailabilityEngine.INTERVAL;
+        int parallelSearchThreshold = RoomSearchIndex.DEFAULT_PARALLEL_THRESHOLD;
+        Path snapshotFile = null;
+        Path batchFile = null;
+        Path outputFile = null;
+        Path journalFile = null;
+        JournalDurability durability = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith(OPTION_ENGINE)) {
+                    engine = AvailabilityEngine.fromString(arg.substring(OPTION_ENGINE.length()));
+                    if (engine == null) {
+                        return null;
+                    }
+                } else if (arg.startsWith(OPTION_PARALLEL_THRESHOLD)) {
+                    parallelSearchThreshold = Integer.parseInt(arg.substring(OPTION_PARALLEL_THRESHOLD.length()));
+                    if (parallelSearchThreshold < 0) {
+                        return null;
+                    }
+                } else if (arg.startsWith(OPTION_SNAPSHOT)) {
+                    snapshotFile = Path.of(arg.substring(OPTION_SNAPSHOT.length()));
+                } else if (arg.startsWith(OPTION_BATCH)) {
+                    batchFile = Path.of(arg.substring(OPTION_BATCH.length()));
+                } else if (arg.startsWith(OPTION_OUTPUT)) {
+                    outputFile = Path.of(arg.substring(OPTION_OUTPUT.length()));
+                } else if (arg.startsWith(OPTION_JOURNAL)) {
+                    journalFile = Path.of(arg.substring(OPTION_JOURNAL.length()));
+                } else if (arg.startsWith(OPTION_DURABILITY)) {
+                    durability = JournalDurability.fromString(arg.substring(OPTION_DURABILITY.length()));
+                    if (durability == null) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+        } catch (InvalidPathException | NumberFormatException e) {
+            return null;
+        }
+        if ((outputFile != null && batchFile == null) || (durability != null && journalFile == null)) {
+            return null;
+        }
+        if (durability == null) {
+            durability = JournalDurability.ASYNC;
+        }
+        return new StartupOptions(engine, parallelSearchThreshold, snapshotFile, batchFile, outputFile,
+                journalFile, durability);
+    }
+}
@@ -1,8 +1,9 @@
 package command;
 
 import booking.Hotel;
+import booking.IntMap;
+import booking.RoomSearchIndex;
 
-import java.util.Map;
 
 
 /**
@@ -35,15 +36,25 @@ public class AddHotelCommand implements Command {
     private static final int MIN_HOTEL_ID = 1;
     private static final String SPACE = " ";
 
-    private final Map<Integer, Hotel> hotels;
+    private final IntMap<Hotel> hotels;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
     /**
      * Constructs the command with the shared hotel map.
      *
      * @param hotels the map of hotels, indexed by their hotel ID
+     * @param searchIndex the city and category index to register new hotels in
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public AddHotelCommand(Map<Integer, Hotel> hotels) {
+    public AddHotelCommand(IntMap<Hotel> hotels, RoomSearchIndex searchIndex, OutputSink output,
+                           MutationLog mutationLog) {
         this.hotels = hotels;
+        this.searchIndex = searchIndex;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     /**
@@ -54,7 +65,7 @@ public class AddHotelCommand implements Command {
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_ADD_HOTEL);
+            output.println(ERROR_USAGE_ADD_HOTEL);
             return;
         }
 
@@ -63,25 +74,27 @@ public class AddHotelCommand implements Command {
             String city = args[CITY_INDEX];
 
             if (hotelId < MIN_HOTEL_ID || hotelId > MAX_HOTEL_ID) {
-                System.out.println(ERROR_INVALID_HOTEL_ID);
+                output.println(ERROR_INVALID_HOTEL_ID);
                 return;
             }
 
             if (city.contains(SPACE)) {
-                System.out.println(ERROR_USAGE_ADD_HOTEL);
+                output.println(ERROR_USAGE_ADD_HOTEL);
                 return;
             }
 
             if (hotels.containsKey(hotelId)) {
-                System.out.println(ERROR_HOTEL_EXISTS);
+                output.println(ERROR_HOTEL_EXISTS);
                 return;
             }
 
             Hotel newHotel = new Hotel(hotelId, city);
             hotels.put(hotelId, newHotel);
-            System.out.println(MESSAGE_OK);
+            searchIndex.addHotel(newHotel);
+            mutationLog.record(args);
+            output.println(MESSAGE_OK);
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_INVALID_NUMBER_FORMAT);
+            output.println(ERROR_INVALID_NUMBER_FORMAT);
         }
     }
 
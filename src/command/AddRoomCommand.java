@@ -1,10 +1,12 @@
 package command;
 
+import booking.AvailabilityEngine;
 import booking.Hotel;
+import booking.IntMap;
 import booking.Room;
 import booking.RoomCategory;
+import booking.RoomSearchIndex;
 
-import java.util.Map;
 
 /**
  * Command to add a new room to a hotel.
@@ -38,15 +40,29 @@ public class AddRoomCommand implements Command {
     private static final int INDEX_PRICE = 5;
     private static final double MIN_PRICE = 0.0;
 
-    private final Map<Integer, Hotel> hotels;
+    private final IntMap<Hotel> hotels;
+    private final RoomSearchIndex searchIndex;
+    private final AvailabilityEngine engine;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
     /**
      * Constructs the command with the map of hotels.
      *
      * @param hotels the map of hotels, indexed by hotel ID
+     * @param searchIndex the city and category index to register new rooms in
+     * @param engine the availability engine used by newly added rooms
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public AddRoomCommand(Map<Integer, Hotel> hotels) {
+    public AddRoomCommand(IntMap<Hotel> hotels, RoomSearchIndex searchIndex, AvailabilityEngine engine,
+                          OutputSink output,
+                          MutationLog mutationLog) {
         this.hotels = hotels;
+        this.searchIndex = searchIndex;
+        this.engine = engine;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     /**
@@ -57,7 +73,7 @@ public class AddRoomCommand implements Command {
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_ADD_ROOM);
+            output.println(ERROR_USAGE_ADD_ROOM);
             return;
         }
 
@@ -68,31 +84,34 @@ public class AddRoomCommand implements Command {
             double price = Double.parseDouble(args[INDEX_PRICE]);
 
             if (price <= MIN_PRICE) {
-                System.out.println(ERROR_PRICE_GREATER_ZERO);
+                output.println(ERROR_PRICE_GREATER_ZERO);
                 return;
             }
 
             if (category == null) {
-                System.out.println(ERROR_USAGE_ADD_ROOM);
+                output.println(ERROR_USAGE_ADD_ROOM);
                 return;
             }
 
             Hotel hotel = hotels.get(hotelId);
             if (hotel == null) {
-                System.out.println(ERROR_HOTEL_DOES_NOT_EXIST);
+                output.println(ERROR_HOTEL_DOES_NOT_EXIST);
                 return;
             }
 
-            if (hotel.getRooms().containsKey(roomNumber)) {
-                System.out.println(ERROR_ROOM_ALREADY_EXISTS);
+            if (hotel.getRoom(roomNumber) != null) {
+                output.println(ERROR_ROOM_ALREADY_EXISTS);
                 return;
             }
 
-            hotel.addRoom(new Room(roomNumber, category, price));
-            System.out.println(MESSAGE_OK);
+            Room room = new Room(roomNumber, category, price, engine);
+            hotel.addRoom(room);
+            searchIndex.addRoom(hotel, room);
+            mutationLog.record(args);
+            output.println(MESSAGE_OK);
 
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_NUMBER_FORMAT);
+            output.println(ERROR_NUMBER_FORMAT);
         }
     }
 
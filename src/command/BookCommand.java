@@ -3,13 +3,14 @@ package command;
 import booking.*;
 
 import java.time.LocalDate;
-import java.util.Map;
 
 
 /**
  * Command to book a room for a customer.
  * A new booking and customer are created if valid. If a customer already exists
  * (same name), their existing ID is reused.
+ * The room stays locked from the availability check until the booking is added,
+ * so concurrent bookings of the same room can never overlap.
  *
  * @author ujnaa
  */
@@ -40,9 +41,11 @@ public class BookCommand implements Command {
     private static final int INDEX_FIRST_NAME = 5;
     private static final int INDEX_LAST_NAME = 6;
     private static final String SPACE = " ";
-    private final Map<Integer, Hotel> hotels;
+    private final IntMap<Hotel> hotels;
     private final CustomerManager customerManager;
     private final BookingManager bookingManager;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
     /**
      * Constructs the book command with shared hotel, customer, and booking data.
@@ -50,13 +53,19 @@ public class BookCommand implements Command {
      * @param hotels the map of hotels
      * @param customerManager the manager for customer registration
      * @param bookingManager the manager for booking creation
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public BookCommand(Map<Integer, Hotel> hotels,
+    public BookCommand(IntMap<Hotel> hotels,
                        CustomerManager customerManager,
-                       BookingManager bookingManager) {
+                       BookingManager bookingManager,
+                       OutputSink output,
+                       MutationLog mutationLog) {
         this.hotels = hotels;
         this.customerManager = customerManager;
         this.bookingManager = bookingManager;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     /**
@@ -68,7 +77,7 @@ public class BookCommand implements Command {
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_INVALID_FORMAT);
+            output.println(ERROR_INVALID_FORMAT);
             return;
         }
 
@@ -84,41 +93,47 @@ public class BookCommand implements Command {
             LocalDate to = LocalDate.parse(toStr);
 
             if (!from.isBefore(to)) {
-                System.out.println(ERROR_INVALID_DATE_RANGE);
+                output.println(ERROR_INVALID_DATE_RANGE);
                 return;
             }
 
             Hotel hotel = hotels.get(hotelId);
             if (hotel == null) {
-                System.out.println(ERROR_HOTEL_NOT_FOUND);
+                output.println(ERROR_HOTEL_NOT_FOUND);
                 return;
             }
 
-            Room room = hotel.getRooms().get(roomNumber);
+            Room room = hotel.getRoom(roomNumber);
             if (room == null) {
-                System.out.println(ERROR_ROOM_NOT_FOUND);
+                output.println(ERROR_ROOM_NOT_FOUND);
                 return;
             }
 
             DateRange range = new DateRange(from, to);
 
-            if (!room.isAvailable(range)) {
-                System.out.println(ERROR_ROOM_NOT_AVAILABLE);
-                return;
-            }
+            room.lock();
+            try {
+                if (!room.isAvailable(range)) {
+                    output.println(ERROR_ROOM_NOT_AVAILABLE);
+                    return;
+                }
 
-            int customerId = customerManager.getOrAddCustomerId(firstName, lastName);
-            Customer customer = customerManager.getCustomer(firstName, lastName);
+                Customer customer = customerManager.getOrAddCustomer(firstName, lastName);
+                int customerId = customer.getCustomerId();
 
-            Booking booking = bookingManager.createBooking(customer, range);
-            room.addBooking(booking);
+                Booking booking = bookingManager.createBooking(customer, range, new RoomLocation(hotel, room));
+                room.addBooking(booking);
 
-            System.out.println(booking.bookingId() + SPACE + customerId);
+                mutationLog.record(args);
+                output.println(booking.bookingId() + SPACE + customerId);
+            } finally {
+                room.unlock();
+            }
 
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_INVALID_NUMBER_FORMAT);
+            output.println(ERROR_INVALID_NUMBER_FORMAT);
         } catch (java.time.format.DateTimeParseException e) {
-            System.out.println(ERROR_INVALID_DATE_FORMAT);
+            output.println(ERROR_INVALID_DATE_FORMAT);
         }
     }
 
@@ -2,10 +2,8 @@ package command;
 
 import booking.Booking;
 import booking.BookingManager;
-import booking.Hotel;
 import booking.Room;
-
-import java.util.Map;
+import booking.RoomLocation;
 
 /**
  * Command to cancel a booking.
@@ -13,6 +11,8 @@ import java.util.Map;
  *
  * The booking is cancelled only if it exists, is not already cancelled, and belongs to the given customer.
  * The booking is also removed from the associated room.
+ * The room is locked while the booking is checked and cancelled, and the cancellation itself is atomic,
+ * so of several concurrent cancellations of the same booking exactly one succeeds.
  *
  * @author ujnaa
  */
@@ -35,17 +35,20 @@ public class CancelCommand implements Command {
     private static final int INDEX_BOOKING_ID = 1;
     private static final int INDEX_CUSTOMER_ID = 2;
     private final BookingManager bookingManager;
-    private final Map<Integer, Hotel> hotels;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
     /**
      * Constructs a cancel command.
      *
-     * @param bookingManager the manager handling all bookings
-     * @param hotels the map of hotels for locating rooms to remove bookings from
+     * @param bookingManager the manager handling all bookings and the rooms they belong to
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public CancelCommand(BookingManager bookingManager, Map<Integer, Hotel> hotels) {
+    public CancelCommand(BookingManager bookingManager, OutputSink output, MutationLog mutationLog) {
         this.bookingManager = bookingManager;
-        this.hotels = hotels;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     /**
@@ -56,7 +59,7 @@ public class CancelCommand implements Command {
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_INVALID_CANCEL_FORMAT);
+            output.println(ERROR_INVALID_CANCEL_FORMAT);
             return;
         }
 
@@ -66,28 +69,38 @@ public class CancelCommand implements Command {
 
             Booking booking = bookingManager.getBookingById(bookingId);
             if (booking == null || booking.isCancelled()) {
-                System.out.println(ERROR_BOOKING_NOT_FOUND);
+                output.println(ERROR_BOOKING_NOT_FOUND);
                 return;
             }
 
             if (booking.customer().getCustomerId() != customerId) {
-                System.out.println(ERROR_CUSTOMER_MISMATCH);
+                output.println(ERROR_CUSTOMER_MISMATCH);
                 return;
             }
 
-            for (Hotel hotel : hotels.values()) {
-                Room room = hotel.findRoomWithBooking(bookingId);
+            RoomLocation location = bookingManager.getLocation(bookingId);
+            Room room = location == null ? null : location.room();
+            if (room != null) {
+                room.lock();
+            }
+            try {
+                if (!bookingManager.cancelBooking(bookingId)) {
+                    output.println(ERROR_BOOKING_NOT_FOUND);
+                    return;
+                }
                 if (room != null) {
                     room.removeBooking(bookingId);
-                    break;
+                }
+                mutationLog.record(args);
+                output.println(MESSAGE_OK);
+            } finally {
+                if (room != null) {
+                    room.unlock();
                 }
             }
 
-            bookingManager.cancelBooking(bookingId);
-            System.out.println(MESSAGE_OK);
-
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_INVALID_NUMBERS);
+            output.println(ERROR_INVALID_NUMBERS);
         }
     }
 
@@ -0,0 +1,76 @@
+package command;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves the command for a tokenized input line.
+ * Keywords are stored in a two-level trie keyed by their first and second word, so resolving
+ * a line only needs hash lookups on its existing tokens. A matching two-word keyword takes
+ * precedence over a matching one-word keyword.
+ *
+ * @author ujnaa
+ */
+public final class CommandDispatcher {
+
+    /** Error message when a command keyword consists of more than two words. */
+    public static final String ERROR_KEYWORD_TOO_LONG = "Command keywords must consist of one or two words: ";
+
+    private static final String SPACE = " ";
+    private static final int FIRST_INDEX = 0;
+    private static final int SECOND_INDEX = 1;
+    private static final int MIN_TWO_WORD_PARTS = 2;
+
+    private final Map<String, Node> roots = new HashMap<>();
+
+    /**
+     * Constructs a dispatcher for the given commands.
+     *
+     * @param commands the commands to dispatch to
+     * @throws IllegalArgumentException if a keyword has more than two words
+     */
+    public CommandDispatcher(List<Command> commands) {
+        for (Command command : commands) {
+            String[] words = command.keyword().split(SPACE);
+            if (words.length > MIN_TWO_WORD_PARTS) {
+                throw new IllegalArgumentException(ERROR_KEYWORD_TOO_LONG + command.keyword());
+            }
+            Node node = roots.computeIfAbsent(words[FIRST_INDEX], word -> new Node());
+            if (words.length == MIN_TWO_WORD_PARTS) {
+                node.next.put(words[SECOND_INDEX], command);
+            } else {
+                node.command = command;
+            }
+        }
+    }
+
+    /**
+     * Returns the command whose keyword matches the start of the given tokens.
+     *
+     * @param parts the tokens of the input line
+     * @return the matching command, or null if the command is unknown
+     */
+    public Command resolve(String[] parts) {
+        Node node = roots.get(parts[FIRST_INDEX]);
+        if (node == null) {
+            return null;
+        }
+        if (parts.length >= MIN_TWO_WORD_PARTS) {
+            Command twoWord = node.next.get(parts[SECOND_INDEX]);
+            if (twoWord != null) {
+                return twoWord;
+            }
+        }
+        return node.command;
+    }
+
+    /**
+     * Trie node for one first keyword word.
+     */
+    private static final class Node {
+
+        private final Map<String, Command> next = new HashMap<>();
+        private Command command;
+    }
+}
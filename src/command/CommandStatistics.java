@@ -0,0 +1,41 @@
+package command;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Latency histograms of all executed commands, one per command keyword.
+ * Can be shared by concurrent sessions.
+ *
+ * @author ujnaa
+ */
+public final class CommandStatistics {
+
+    private final NavigableMap<String, LatencyHistogram> histograms = new ConcurrentSkipListMap<>();
+
+    /**
+     * Records one execution of the command with the given keyword.
+     *
+     * @param keyword the keyword of the executed command
+     * @param nanos the time the execution took in nanoseconds
+     * @param error whether the command printed an error
+     */
+    public void record(String keyword, long nanos, boolean error) {
+        LatencyHistogram histogram = histograms.get(keyword);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(keyword, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos, error);
+    }
+
+    /**
+     * Returns the histograms of all commands executed so far, sorted by keyword.
+     *
+     * @return an unmodifiable view of the histograms by keyword
+     */
+    public Map<String, LatencyHistogram> histograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+}
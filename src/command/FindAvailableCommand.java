@@ -4,10 +4,6 @@ import booking.*;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Command to find available rooms in a given city and category for a date range.
@@ -33,22 +29,24 @@ public class FindAvailableCommand implements Command {
     private static final int INDEX_CATEGORY = 3;
     private static final int INDEX_FROM_DATE = 4;
     private static final int INDEX_TO_DATE = 5;
-    private static final int EMPTY_LIST_SIZE = 0;
-    private final Map<Integer, Hotel> hotels;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
 
     /**
-     * Constructs the command with access to the hotel map.
+     * Constructs the command with access to the city and category index.
      *
-     * @param hotels the map of hotels
+     * @param searchIndex the index of rooms by city and category
+     * @param output the sink receiving the command output
      */
-    public FindAvailableCommand(Map<Integer, Hotel> hotels) {
-        this.hotels = hotels;
+    public FindAvailableCommand(RoomSearchIndex searchIndex, OutputSink output) {
+        this.searchIndex = searchIndex;
+        this.output = output;
     }
 
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_FIND_AVAILABLE);
+            output.println(ERROR_USAGE_FIND_AVAILABLE);
             return;
         }
         String city = args[INDEX_CITY];
@@ -61,49 +59,26 @@ public class FindAvailableCommand implements Command {
             to = LocalDate.parse(args[INDEX_TO_DATE]);
 
             if (!from.isBefore(to)) {
-                System.out.println(ERROR_START_DATE_BEFORE_END);
+                output.println(ERROR_START_DATE_BEFORE_END);
                 return;
             }
 
             if (category == null) {
-                System.out.println(ERROR_USAGE_FIND_AVAILABLE);
+                output.println(ERROR_USAGE_FIND_AVAILABLE);
                 return;
             }
 
         } catch (DateTimeParseException e) {
-            System.out.println(ERROR_INVALID_DATE_FORMAT);
+            output.println(ERROR_INVALID_DATE_FORMAT);
             return;
         }
 
 
         DateRange range = new DateRange(from, to);
-        List<AvailableRoom> result = new ArrayList<>();
 
-        for (Hotel hotel : hotels.values()) {
-            if (!hotel.getCity().equals(city)) {
-                continue;
-            }
-
-            for (Room room : hotel.getRooms().values()) {
-                if (room.getCategory() == category && room.isAvailable(range)) {
-                    result.add(new AvailableRoom(hotel.getId(), room.getNumber(), room.getPrice()));
-                }
-            }
-        }
-
-        result.sort(new Comparator<AvailableRoom>() {
-            @Override
-            public int compare(AvailableRoom a, AvailableRoom b) {
-                int hotelCmp = Integer.compare(a.hotelId(), b.hotelId());
-                if (hotelCmp != EMPTY_LIST_SIZE) {
-                    return hotelCmp;
-                }
-                return Integer.compare(a.roomNumber(), b.roomNumber());
-            }
-        });
-
-        for (AvailableRoom room : result) {
-            System.out.printf(OUTPUT_FORMAT, room.hotelId(), room.roomNumber(), room.price());
+        for (RoomLocation location : searchIndex.findAvailableRooms(city, category, range)) {
+            Room room = location.room();
+            output.printf(OUTPUT_FORMAT, location.hotel().getId(), room.getNumber(), room.getPrice());
         }
     }
 
@@ -3,9 +3,6 @@ package command;
 import booking.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Command to find the cheapest available room for a given city, category and date range.
@@ -37,21 +34,24 @@ public class FindCheapestCommand implements Command {
     private static final int INDEX_TO_DATE = 5;
 
 
-    private final Map<Integer, Hotel> hotels;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
 
     /**
-     * Constructs the command with access to the hotel map.
+     * Constructs the command with access to the city and category index.
      *
-     * @param hotels the map of hotels indexed by hotel IDR
+     * @param searchIndex the index of rooms by city and category
+     * @param output the sink receiving the command output
      */
-    public FindCheapestCommand(Map<Integer, Hotel> hotels) {
-        this.hotels = hotels;
+    public FindCheapestCommand(RoomSearchIndex searchIndex, OutputSink output) {
+        this.searchIndex = searchIndex;
+        this.output = output;
     }
 
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_FIND_CHEAPEST);
+            output.println(ERROR_USAGE_FIND_CHEAPEST);
             return;
         }
         String city = args[INDEX_CITY];
@@ -59,53 +59,25 @@ public class FindCheapestCommand implements Command {
         String fromStr = args[INDEX_FROM_DATE];
         String toStr = args[INDEX_TO_DATE];
         if (category == null) {
-            System.out.println(ERROR_UNKNOWN_CATEGORY);
+            output.println(ERROR_UNKNOWN_CATEGORY);
             return;
         }
         if (!fromStr.matches(DATE_REGEX) || !toStr.matches(DATE_REGEX)) {
-            System.out.println(ERROR_INVALID_DATE_FORMAT);
+            output.println(ERROR_INVALID_DATE_FORMAT);
             return;
         }
         LocalDate from = LocalDate.parse(fromStr);
         LocalDate to = LocalDate.parse(toStr);
         if (!from.isBefore(to)) {
-            System.out.println(ERROR_START_DATE_BEFORE_END);
+            output.println(ERROR_START_DATE_BEFORE_END);
             return;
         }
         DateRange range = new DateRange(from, to);
-        List<AvailableRoom> result = new ArrayList<>();
-        for (Hotel hotel : hotels.values()) {
-            if (!hotel.getCity().equals(city)) {
-                continue;
-            }
-            for (Room room : hotel.getRooms().values()) {
-                if (room.getCategory() != category) {
-                    continue;
-                }
-                if (!room.isAvailable(range)) {
-                    continue;
-                }
-                result.add(new AvailableRoom(hotel.getId(), room.getNumber(), room.getPrice()));
-            }
-        }
-        AvailableRoom bestRoom = null;
-        double bestTotalPrice = Double.MAX_VALUE;
-        for (AvailableRoom room : result) {
-            int days = (int) (to.toEpochDay() - from.toEpochDay());
-            double totalPrice = room.price() * days;
-            if (totalPrice < bestTotalPrice) {
-                bestRoom = room;
-                bestTotalPrice = totalPrice;
-            } else if (totalPrice == bestTotalPrice) {
-                assert bestRoom != null;
-                if (room.hotelId() < bestRoom.hotelId()
-                        || (room.hotelId() == bestRoom.hotelId() && room.roomNumber() < bestRoom.roomNumber())) {
-                    bestRoom = room;
-                }
-            }
-        }
+        int days = (int) (to.toEpochDay() - from.toEpochDay());
+        RoomLocation bestRoom = searchIndex.findCheapestRoom(city, category, range, days);
         if (bestRoom != null) {
-            System.out.printf(OUTPUT_FORMAT, bestRoom.hotelId(), bestRoom.roomNumber(), bestTotalPrice);
+            output.printf(OUTPUT_FORMAT, bestRoom.hotel().getId(), bestRoom.room().getNumber(),
+                    bestRoom.room().getPrice() * days);
         }
 
     }
@@ -0,0 +1,111 @@
+package command;
+
+import booking.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command to find available rooms in a given city and category for a date range within a price band.
+ * Usage: {@code find range <City> <Category> <Start> <End> <MinPrice> <MaxPrice>}
+ *
+ * Both price bounds are per night and inclusive. Matching rooms are printed sorted by price,
+ * then hotel ID and room number. Only rooms inside the price band are checked for availability.
+ *
+ * @author ujnaa
+ */
+public class FindRangeCommand implements Command {
+
+    /** Error message when the provided date format does not match the required pattern (YYYY-MM-DD). */
+    public static final String ERROR_INVALID_DATE_FORMAT = "Error, invalid date format";
+    /** Error message when the start date is not before the end date. */
+    public static final String ERROR_START_DATE_BEFORE_END = "Error, start date must be before end date";
+    /** Error message when a price bound is not a number or the minimum exceeds the maximum. */
+    public static final String ERROR_INVALID_PRICE_RANGE = "Error, invalid price range";
+    /** Error message when the 'find range' command usage is incorrect. */
+    public static final String ERROR_USAGE_FIND_RANGE =
+            "Error, find range <City> <Category> <Start> <End> <MinPrice> <MaxPrice>";
+    /** Command keyword to search for available rooms within a price band. */
+    public static final String COMMAND_FIND_RANGE = "find range";
+
+    private static final String OUTPUT_FORMAT = "%05d %d %.2f€%n";
+    private static final int EXPECTED_ARGUMENT_COUNT = 8;
+    private static final int INDEX_CITY = 2;
+    private static final int INDEX_CATEGORY = 3;
+    private static final int INDEX_FROM_DATE = 4;
+    private static final int INDEX_TO_DATE = 5;
+    private static final int INDEX_MIN_PRICE = 6;
+    private static final int INDEX_MAX_PRICE = 7;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
+
+    /**
+     * Constructs the command with access to the city and category index.
+     *
+     * @param searchIndex the index of rooms by city, category, and price
+     * @param output the sink receiving the command output
+     */
+    public FindRangeCommand(RoomSearchIndex searchIndex, OutputSink output) {
+        this.searchIndex = searchIndex;
+        this.output = output;
+    }
+
+    @Override
+    public void execute(String[] args) {
+        if (args.length != EXPECTED_ARGUMENT_COUNT) {
+            output.println(ERROR_USAGE_FIND_RANGE);
+            return;
+        }
+        String city = args[INDEX_CITY];
+        RoomCategory category = RoomCategory.fromString(args[INDEX_CATEGORY]);
+        LocalDate from;
+        LocalDate to;
+
+        try {
+            from = LocalDate.parse(args[INDEX_FROM_DATE]);
+            to = LocalDate.parse(args[INDEX_TO_DATE]);
+        } catch (DateTimeParseException e) {
+            output.println(ERROR_INVALID_DATE_FORMAT);
+            return;
+        }
+
+        if (!from.isBefore(to)) {
+            output.println(ERROR_START_DATE_BEFORE_END);
+            return;
+        }
+
+        if (category == null) {
+            output.println(ERROR_USAGE_FIND_RANGE);
+            return;
+        }
+
+        double minPrice;
+        double maxPrice;
+        try {
+            minPrice = Double.parseDouble(args[INDEX_MIN_PRICE]);
+            maxPrice = Double.parseDouble(args[INDEX_MAX_PRICE]);
+        } catch (NumberFormatException e) {
+            output.println(ERROR_INVALID_PRICE_RANGE);
+            return;
+        }
+
+        // also rejects NaN bounds, which compare false
+        if (!(minPrice <= maxPrice)) {
+            output.println(ERROR_INVALID_PRICE_RANGE);
+            return;
+        }
+
+        DateRange range = new DateRange(from, to);
+
+        for (RoomLocation location : searchIndex.findAvailableRoomsInPriceRange(city, category, range,
+                minPrice, maxPrice)) {
+            Room room = location.room();
+            output.printf(OUTPUT_FORMAT, location.hotel().getId(), room.getNumber(), room.getPrice());
+        }
+    }
+
+    @Override
+    public String keyword() {
+        return COMMAND_FIND_RANGE;
+    }
+}
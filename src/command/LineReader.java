@@ -0,0 +1,298 @@
+package command;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads command lines from a byte stream or a file and splits them into tokens without regular expressions.
+ * Stream bytes are read in bulk into a reusable buffer, while files are memory-mapped window by window;
+ * either way the bytes are decoded into a reusable character buffer, from which lines are cut in place.
+ * Lines end at the same terminators as {@link java.util.Scanner#nextLine()}, and {@link #tokens()}
+ * returns exactly what {@code line.trim().split("\\s+")} returns for the current line.
+ *
+ * @author ujnaa
+ */
+public final class LineReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long MAPPED_WINDOW_SIZE = 1L << 26;
+    private static final int GROWTH_FACTOR = 2;
+    private static final char LINE_FEED = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+    private static final char NEXT_LINE = '\u0085';
+    private static final char LINE_SEPARATOR = '\u2028';
+    private static final char PARAGRAPH_SEPARATOR = '\u2029';
+    private static final char LAST_TRIMMED_CHAR = ' ';
+    private static final String[] EMPTY_LINE_TOKENS = {""};
+
+    private final InputStream in;
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private ByteBuffer bytes;
+    private CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+    private long windowStart;
+    private boolean exhausted;
+    private int lineStart;
+    private int lineEnd;
+
+    /**
+     * Constructs a reader decoding the given stream with the given charset.
+     * Malformed input is replaced, as {@link java.io.InputStreamReader} does.
+     *
+     * @param in the stream to read from
+     * @param charset the charset of the stream
+     */
+    public LineReader(InputStream in, Charset charset) {
+        this(in, null, charset);
+        bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        bytes.flip();
+    }
+
+    /**
+     * Constructs a reader that memory-maps the given file channel and decodes it with the given charset.
+     * The file is mapped in windows, so files larger than a single mapping can be read.
+     *
+     * @param channel the channel of the file to read from its beginning
+     * @param charset the charset of the file
+     */
+    public LineReader(FileChannel channel, Charset charset) {
+        this(channel, 0, charset);
+    }
+
+    /**
+     * Constructs a reader that memory-maps the given file channel from the given position on
+     * and decodes it with the given charset.
+     *
+     * @param channel the channel of the file to read
+     * @param start the position of the first byte to read, which must start a line
+     * @param charset the charset of the file
+     */
+    public LineReader(FileChannel channel, long start, Charset charset) {
+        this(null, channel, charset);
+        bytes = ByteBuffer.allocate(0);
+        windowStart = start;
+    }
+
+    private LineReader(InputStream in, FileChannel channel, Charset charset) {
+        this.in = in;
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        chars.flip();
+    }
+
+    /**
+     * Advances to the next line of input, blocking until it is complete or the input ends.
+     *
+     * @return true if a line was read, false if the input is exhausted
+     * @throws IOException if reading from the underlying stream fails
+     */
+    public boolean nextLine() throws IOException {
+        int scan = chars.position();
+        while (true) {
+            char[] buffer = chars.array();
+            int limit = chars.limit();
+            for (int i = scan; i < limit; i++) {
+                char c = buffer[i];
+                if (c == LINE_FEED || c == NEXT_LINE || c == LINE_SEPARATOR || c == PARAGRAPH_SEPARATOR) {
+                    endLine(i, i + 1);
+                    return true;
+                }
+                if (c == CARRIAGE_RETURN) {
+                    if (i + 1 < limit) {
+                        endLine(i, buffer[i + 1] == LINE_FEED ? i + 2 : i + 1);
+                        return true;
+                    }
+                    if (exhausted) {
+                        endLine(i, i + 1);
+                        return true;
+                    }
+                    // a line feed may follow in the next chunk, so look at this carriage return again
+                    scan = i;
+                    break;
+                }
+                scan = i + 1;
+            }
+            if (exhausted) {
+                if (chars.position() == limit) {
+                    return false;
+                }
+                endLine(limit, limit);
+                return true;
+            }
+            scan = fill(scan);
+        }
+    }
+
+    /**
+     * Returns the current line without its terminator.
+     *
+     * @return the current line
+     */
+    public String line() {
+        return new String(chars.array(), lineStart, lineEnd - lineStart);
+    }
+
+    /**
+     * Splits the current line into tokens.
+     * Leading and trailing characters up to and including the space character are ignored,
+     * and tokens are separated by runs of space, tab, line feed, vertical tab, form feed, or carriage return.
+     * A line without tokens yields a single empty token.
+     *
+     * @return the tokens of the current line
+     */
+    public String[] tokens() {
+        char[] buffer = chars.array();
+        int start = lineStart;
+        int end = lineEnd;
+        while (start < end && buffer[start] <= LAST_TRIMMED_CHAR) {
+            start++;
+        }
+        while (end > start && buffer[end - 1] <= LAST_TRIMMED_CHAR) {
+            end--;
+        }
+        if (start == end) {
+            return EMPTY_LINE_TOKENS.clone();
+        }
+        int count = 1;
+        for (int i = start + 1; i < end; i++) {
+            if (isSeparator(buffer[i]) && !isSeparator(buffer[i - 1])) {
+                count++;
+            }
+        }
+        String[] tokens = new String[count];
+        int token = 0;
+        int tokenStart = start;
+        for (int i = start; i < end; i++) {
+            if (isSeparator(buffer[i])) {
+                if (tokenStart < i) {
+                    tokens[token++] = new String(buffer, tokenStart, i - tokenStart);
+                }
+                tokenStart = i + 1;
+            }
+        }
+        tokens[token] = new String(buffer, tokenStart, end - tokenStart);
+        return tokens;
+    }
+
+    /**
+     * Checks whether more input is available without blocking.
+     *
+     * @return true if further input is buffered or can be read without blocking, false otherwise
+     */
+    public boolean hasBufferedInput() {
+        if (chars.hasRemaining() || bytes.hasRemaining()) {
+            return true;
+        }
+        try {
+            if (channel != null) {
+                return windowStart + bytes.limit() < channel.size();
+            }
+            return in.available() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private void endLine(int end, int next) {
+        lineStart = chars.position();
+        lineEnd = end;
+        chars.position(next);
+    }
+
+    /**
+     * Decodes more input behind the unread characters, growing the character buffer when a line
+     * does not fit into it.
+     *
+     * @param scan the index up to which the unread characters have already been scanned
+     * @return the scan index after the unread characters were moved to the start of the buffer
+     */
+    private int fill(int scan) throws IOException {
+        int shift = chars.position();
+        chars.compact();
+        int decodedBefore = chars.position();
+        while (chars.position() == decodedBefore && !exhausted) {
+            if (!chars.hasRemaining()) {
+                growChars();
+            }
+            CoderResult result = decoder.decode(bytes, chars, false);
+            if (result.isOverflow()) {
+                if (chars.position() == decodedBefore) {
+                    growChars();
+                }
+                continue;
+            }
+            if (chars.position() != decodedBefore) {
+                // never block on reading more while decoded input is waiting to be scanned
+                break;
+            }
+            if (!refillBytes()) {
+                finishDecoding();
+                exhausted = true;
+            }
+        }
+        chars.flip();
+        return scan - shift;
+    }
+
+    /**
+     * Makes more input bytes available behind the ones not decoded yet.
+     *
+     * @return true if more bytes may have become available, false at the end of the input
+     */
+    private boolean refillBytes() throws IOException {
+        if (channel != null) {
+            long size = channel.size();
+            long windowEnd = windowStart + bytes.limit();
+            if (windowEnd >= size) {
+                return false;
+            }
+            // remap from the first undecoded byte so that characters split across windows stay intact
+            windowStart += bytes.position();
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                    Math.min(MAPPED_WINDOW_SIZE, size - windowStart));
+            return true;
+        }
+        bytes.compact();
+        int read = in.read(bytes.array(), bytes.position(), bytes.remaining());
+        if (read < 0) {
+            bytes.flip();
+            return false;
+        }
+        bytes.position(bytes.position() + read);
+        bytes.flip();
+        return true;
+    }
+
+    private void finishDecoding() {
+        CoderResult result = decoder.decode(bytes, chars, true);
+        while (result.isOverflow()) {
+            growChars();
+            result = decoder.decode(bytes, chars, true);
+        }
+        result = decoder.flush(chars);
+        while (result.isOverflow()) {
+            growChars();
+            result = decoder.flush(chars);
+        }
+    }
+
+    private void growChars() {
+        CharBuffer grown = CharBuffer.allocate(chars.capacity() * GROWTH_FACTOR);
+        chars.flip();
+        grown.put(chars);
+        chars = grown;
+    }
+}
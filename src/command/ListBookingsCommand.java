@@ -3,11 +3,14 @@ package command;
 import booking.Booking;
 import booking.BookingManager;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
 /**
- * Command to list all active (non-cancelled) bookings sorted by booking ID.
+ * Command to list active (non-cancelled) bookings sorted by booking ID.
+ * Usage: {@code list bookings [<CustomerID>]}
+ *
+ * Without a customer ID, all bookings are streamed in ID order straight from the booking manager.
+ * With a customer ID, only the bookings of that customer are listed, read from the manager's
+ * per-customer index; an unknown customer has no bookings.
+ * An argument that is not a customer ID is rejected like any other invalid usage.
  *
  * @author ujnaa
  */
@@ -20,42 +23,50 @@ public class ListBookingsCommand implements Command {
 
     private static final String OUTPUT_FORMAT = "%d %d %s %s%n";
     private static final int EXPECTED_ARGUMENT_COUNT = 2;
+    private static final int CUSTOMER_ARGUMENT_COUNT = 3;
+    private static final int INDEX_CUSTOMER_ID = 2;
     private final BookingManager bookingManager;
+    private final OutputSink output;
 
     /**
      * Constructs the command to list bookings.
      *
      * @param bookingManager the manager providing access to all bookings
+     * @param output the sink receiving the command output
      */
-    public ListBookingsCommand(BookingManager bookingManager) {
+    public ListBookingsCommand(BookingManager bookingManager, OutputSink output) {
         this.bookingManager = bookingManager;
+        this.output = output;
     }
 
     @Override
     public void execute(String[] args) {
+        if (args.length == CUSTOMER_ARGUMENT_COUNT) {
+            int customerId;
+            try {
+                customerId = Integer.parseInt(args[INDEX_CUSTOMER_ID]);
+            } catch (NumberFormatException e) {
+                output.println(ERROR_INVALID_LIST_BOOKINGS_COMMAND);
+                return;
+            }
+            printBookings(bookingManager.getBookingsOfCustomer(customerId));
+            return;
+        }
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_INVALID_LIST_BOOKINGS_COMMAND);
+            output.println(ERROR_INVALID_LIST_BOOKINGS_COMMAND);
             return;
         }
 
-        List<Booking> bookings = new ArrayList<>(bookingManager.getAllBookings());
-
-        List<Booking> filtered = new ArrayList<>();
-        for (Booking b : bookings) {
-            if (!b.isCancelled()) {
-                filtered.add(b);
-            }
-        }
+        printBookings(bookingManager.getAllBookings());
+    }
 
-        filtered.sort(new Comparator<Booking>() {
-            @Override
-            public int compare(Booking a, Booking b) {
-                return Integer.compare(a.bookingId(), b.bookingId());
+    private void printBookings(Iterable<Booking> bookings) {
+        for (Booking booking : bookings) {
+            if (booking.isCancelled()) {
+                // cancelled concurrently and about to be removed
+                continue;
             }
-        });
-
-        for (Booking booking : filtered) {
-            System.out.printf(OUTPUT_FORMAT,
+            output.printf(OUTPUT_FORMAT,
                     booking.bookingId(),
                     booking.customer().getCustomerId(),
                     booking.dateRange().from(),
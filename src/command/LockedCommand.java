@@ -0,0 +1,40 @@
+package command;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Decorator that executes a command while holding a lock.
+ *
+ * @author ujnaa
+ */
+public final class LockedCommand implements Command {
+
+    private final Command command;
+    private final Lock lock;
+
+    /**
+     * Constructs a decorator for the given command.
+     *
+     * @param command the command to execute
+     * @param lock the lock held during every execution of the command
+     */
+    public LockedCommand(Command command, Lock lock) {
+        this.command = command;
+        this.lock = lock;
+    }
+
+    @Override
+    public void execute(String[] args) {
+        lock.lock();
+        try {
+            command.execute(args);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String keyword() {
+        return command.keyword();
+    }
+}
@@ -0,0 +1,33 @@
+package command;
+
+/**
+ * Receives every successfully executed command that changed the system state.
+ * Commands report themselves after the change has been applied and before the success output is written.
+ * A log that persists its records can be checkpointed, so that a snapshot of the state knows which records
+ * it already contains.
+ *
+ * @author ujnaa
+ */
+@FunctionalInterface
+public interface MutationLog {
+
+    /** Log that discards all records, used when no journal is configured or while replaying one. */
+    MutationLog NONE = args -> { };
+
+    /**
+     * Records a successfully executed state-changing command.
+     *
+     * @param args the arguments of the command, including the keyword
+     */
+    void record(String[] args);
+
+    /**
+     * Waits until all records so far are persisted and returns the position right after the last of them.
+     * Records before this position are contained in any state captured while no command changes the system.
+     *
+     * @return the position after the last record, or 0 if the log does not persist its records
+     */
+    default long checkpoint() {
+        return 0;
+    }
+}
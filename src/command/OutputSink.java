@@ -0,0 +1,145 @@
+package command;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Buffered destination for all command output.
+ * Text is collected in a reusable buffer and only encoded and written to the underlying stream
+ * on {@link #flush()}, or earlier once the buffer exceeds its spill threshold.
+ * Lines and formatted text produce exactly the bytes {@link java.io.PrintStream#println(String)}
+ * and {@link java.io.PrintStream#printf(String, Object...)} would produce for the same charset.
+ * Like {@link java.io.PrintStream}, the sink never throws on write failures; use {@link #checkError()}.
+ * The sink counts the error lines it receives, so callers can tell whether a command reported an error.
+ *
+ * @author ujnaa
+ */
+public final class OutputSink {
+
+    private static final int SPILL_THRESHOLD = 1 << 16;
+    private static final int INITIAL_BYTE_CAPACITY = 1 << 12;
+    private static final int GROWTH_FACTOR = 2;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    private static final String ERROR_PREFIX = "Error,";
+
+    private final OutputStream out;
+    private final CharsetEncoder encoder;
+    private final StringBuilder text = new StringBuilder();
+    private final Formatter formatter = new Formatter(text, Locale.getDefault(Locale.Category.FORMAT));
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_BYTE_CAPACITY);
+    private boolean error;
+    private long errorLines;
+
+    /**
+     * Constructs a sink writing to the given stream in the given charset.
+     *
+     * @param out the stream to write to
+     * @param charset the charset used to encode the output
+     */
+    public OutputSink(OutputStream out, Charset charset) {
+        this.out = out;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Appends a line of text followed by the line separator.
+     *
+     * @param line the line to append
+     */
+    public void println(String line) {
+        if (line.startsWith(ERROR_PREFIX)) {
+            errorLines++;
+        }
+        text.append(line).append(LINE_SEPARATOR);
+        spillIfFull();
+    }
+
+    /**
+     * Appends formatted text using the default format locale.
+     *
+     * @param format the format string
+     * @param args the arguments referenced by the format string
+     */
+    public void printf(String format, Object... args) {
+        formatter.format(format, args);
+        spillIfFull();
+    }
+
+    /**
+     * Writes all buffered output to the underlying stream and flushes it.
+     */
+    public void flush() {
+        writeBuffered();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    /**
+     * Returns whether writing to the underlying stream has failed so far.
+     *
+     * @return true if a write or flush failed, false otherwise
+     */
+    public boolean checkError() {
+        return error;
+    }
+
+    /**
+     * Returns the number of lines starting with {@code "Error,"} appended so far.
+     *
+     * @return the number of error lines
+     */
+    public long errorLineCount() {
+        return errorLines;
+    }
+
+    private void spillIfFull() {
+        if (text.length() >= SPILL_THRESHOLD) {
+            writeBuffered();
+        }
+    }
+
+    private void writeBuffered() {
+        if (text.isEmpty()) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(text);
+        encoder.reset();
+        bytes.clear();
+        CoderResult result = encoder.encode(chars, bytes, true);
+        while (result.isOverflow()) {
+            growBytes();
+            result = encoder.encode(chars, bytes, true);
+        }
+        result = encoder.flush(bytes);
+        while (result.isOverflow()) {
+            growBytes();
+            result = encoder.flush(bytes);
+        }
+        text.setLength(0);
+        try {
+            out.write(bytes.array(), 0, bytes.position());
+        } catch (IOException e) {
+            error = true;
+        }
+    }
+
+    private void growBytes() {
+        ByteBuffer grown = ByteBuffer.allocate(bytes.capacity() * GROWTH_FACTOR);
+        bytes.flip();
+        grown.put(bytes);
+        bytes = grown;
+    }
+}
@@ -17,20 +17,23 @@ public class QuitCommand implements Command {
 
     private static final int EXPECTED_ARGUMENT_COUNT = 1;
     private final Runnable quitCallback;
+    private final OutputSink output;
 
     /**
      * Constructs a quit command that triggers the given callback.
      *
      * @param quitCallback the action to perform on quit (e.g., stopping main loop)
+     * @param output the sink receiving the command output
      */
-    public QuitCommand(Runnable quitCallback) {
+    public QuitCommand(Runnable quitCallback, OutputSink output) {
         this.quitCallback = quitCallback;
+        this.output = output;
     }
 
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_INVALID_QUIT_COMMAND);
+            output.println(ERROR_INVALID_QUIT_COMMAND);
             return;
         }
         quitCallback.run();
@@ -3,9 +3,10 @@ package command;
 import booking.Booking;
 import booking.BookingManager;
 import booking.Hotel;
+import booking.IntMap;
 import booking.Room;
+import booking.RoomSearchIndex;
 
-import java.util.Map;
 
 /**
  * Command to remove a hotel from the system.
@@ -30,8 +31,11 @@ public class RemoveHotelCommand implements Command {
 
     private static final int EXPECTED_ARGUMENT_COUNT = 3;
     private static final int INDEX_HOTEL_ID = 2;
-    private final Map<Integer, Hotel> hotels;
+    private final IntMap<Hotel> hotels;
     private final BookingManager bookingManager;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
 
     /**
@@ -39,16 +43,25 @@ public class RemoveHotelCommand implements Command {
      *
      * @param hotels the map of hotels
      * @param bookingManager  provide bookings
+     * @param searchIndex the city and category index to remove the hotel's rooms from
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public RemoveHotelCommand(Map<Integer, Hotel> hotels, BookingManager bookingManager) {
+    public RemoveHotelCommand(IntMap<Hotel> hotels, BookingManager bookingManager,
+                              RoomSearchIndex searchIndex,
+                              OutputSink output,
+                              MutationLog mutationLog) {
         this.hotels = hotels;
         this.bookingManager = bookingManager;
+        this.searchIndex = searchIndex;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_REMOVE_HOTEL);
+            output.println(ERROR_USAGE_REMOVE_HOTEL);
             return;
         }
 
@@ -57,20 +70,22 @@ public class RemoveHotelCommand implements Command {
             Hotel hotel = hotels.get(hotelId);
 
             if (hotel == null) {
-                System.out.println(ERROR_HOTEL_NOT_FOUND);
+                output.println(ERROR_HOTEL_NOT_FOUND);
                 return;
             }
 
-            for (Room room : hotel.getRooms().values()) {
+            for (Room room : hotel.getRooms()) {
                 for (Booking booking : room.getBookings()) {
                     bookingManager.cancelBooking(booking.bookingId());
                 }
             }
 
+            searchIndex.removeHotel(hotel);
             hotels.remove(hotelId);
-            System.out.println(MESSAGE_OK);
+            mutationLog.record(args);
+            output.println(MESSAGE_OK);
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_INVALID_HOTEL_ID);
+            output.println(ERROR_INVALID_HOTEL_ID);
         }
     }
 
@@ -1,8 +1,10 @@
 package command;
 
 import booking.Hotel;
+import booking.IntMap;
+import booking.Room;
+import booking.RoomSearchIndex;
 
-import java.util.Map;
 
 /**
  * Command to remove a room from a hotel.
@@ -29,21 +31,31 @@ public class RemoveRoomCommand implements Command {
     private static final int EXPECTED_ARGUMENT_COUNT = 4;
     private static final int INDEX_HOTEL_ID = 2;
     private static final int INDEX_ROOM_NUMBER = 3;
-    private final Map<Integer, Hotel> hotels;
+    private final IntMap<Hotel> hotels;
+    private final RoomSearchIndex searchIndex;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
 
     /**
      * Constructs the command with access to the hotel map.
      *
      * @param hotels the map of hotels
+     * @param searchIndex the city and category index to remove rooms from
+     * @param output the sink receiving the command output
+     * @param mutationLog the log receiving every successful change
      */
-    public RemoveRoomCommand(Map<Integer, Hotel> hotels) {
+    public RemoveRoomCommand(IntMap<Hotel> hotels, RoomSearchIndex searchIndex, OutputSink output,
+                             MutationLog mutationLog) {
         this.hotels = hotels;
+        this.searchIndex = searchIndex;
+        this.output = output;
+        this.mutationLog = mutationLog;
     }
 
     @Override
     public void execute(String[] args) {
         if (args.length != EXPECTED_ARGUMENT_COUNT) {
-            System.out.println(ERROR_USAGE_REMOVE_ROOM);
+            output.println(ERROR_USAGE_REMOVE_ROOM);
             return;
         }
 
@@ -53,19 +65,22 @@ public class RemoveRoomCommand implements Command {
 
             Hotel hotel = hotels.get(hotelId);
             if (hotel == null) {
-                System.out.println(ERROR_HOTEL_DOES_NOT_EXIST);
+                output.println(ERROR_HOTEL_DOES_NOT_EXIST);
                 return;
             }
 
-            if (!hotel.getRooms().containsKey(roomNumber)) {
-                System.out.println(ERROR_ROOM_DOES_NOT_EXIST);
+            Room room = hotel.getRoom(roomNumber);
+            if (room == null) {
+                output.println(ERROR_ROOM_DOES_NOT_EXIST);
                 return;
             }
 
+            searchIndex.removeRoom(hotel, room);
             hotel.removeRoom(roomNumber);
-            System.out.println(MESSAGE_OK);
+            mutationLog.record(args);
+            output.println(MESSAGE_OK);
         } catch (NumberFormatException e) {
-            System.out.println(ERROR_INVALID_HOTEL_ID);
+            output.println(ERROR_INVALID_HOTEL_ID);
         }
     }
 
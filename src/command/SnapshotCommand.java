@@ -0,0 +1,78 @@
+package command;
+
+import booking.BookingSystem;
+import booking.Snapshot;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+
+/**
+ * Command to write a snapshot of the complete system state.
+ * Usage: {@code snapshot <File>}
+ *
+ * The snapshot can be loaded at startup instead of replaying all commands that built the state.
+ * It is taken at a checkpoint of the mutation log, so a journal replayed after loading it only applies
+ * the records written after the snapshot.
+ *
+ * @author ujnaa
+ */
+public class SnapshotCommand implements Command {
+
+    /** Error message when the format of the snapshot command is invalid. */
+    public static final String ERROR_INVALID_SNAPSHOT_FORMAT = "Error, invalid snapshot format";
+    /** Error message when the snapshot file cannot be written. */
+    public static final String ERROR_SNAPSHOT_WRITE = "Error, snapshot write failed: ";
+    /** Success message for valid command execution. */
+    public static final String MESSAGE_OK = "OK";
+    /** Command keyword to write a snapshot. */
+    public static final String COMMAND_SNAPSHOT = "snapshot";
+
+    private static final int EXPECTED_ARGUMENT_COUNT = 2;
+    private static final int INDEX_FILE = 1;
+    private final BookingSystem system;
+    private final OutputSink output;
+    private final MutationLog mutationLog;
+
+    /**
+     * Constructs a snapshot command.
+     *
+     * @param system the system whose state is written
+     * @param output the sink receiving the command output
+     * @param mutationLog the log whose checkpoint is stored in the snapshot
+     */
+    public SnapshotCommand(BookingSystem system, OutputSink output, MutationLog mutationLog) {
+        this.system = system;
+        this.output = output;
+        this.mutationLog = mutationLog;
+    }
+
+    /**
+     * Executes the snapshot command.
+     *
+     * @param args the user input split into arguments
+     */
+    @Override
+    public void execute(String[] args) {
+        if (args.length != EXPECTED_ARGUMENT_COUNT) {
+            output.println(ERROR_INVALID_SNAPSHOT_FORMAT);
+            return;
+        }
+        try {
+            Snapshot.write(system, Path.of(args[INDEX_FILE]), mutationLog.checkpoint());
+            output.println(MESSAGE_OK);
+        } catch (InvalidPathException | IOException e) {
+            output.println(ERROR_SNAPSHOT_WRITE + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the keyword that triggers this command.
+     *
+     * @return the keyword "snapshot"
+     */
+    @Override
+    public String keyword() {
+        return COMMAND_SNAPSHOT;
+    }
+}
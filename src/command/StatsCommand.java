@@ -0,0 +1,65 @@
+package command;
+
+import java.util.Map;
+
+/**
+ * Command to print the latency statistics of all commands executed so far.
+ * Usage: {@code stats}
+ *
+ * For every command keyword, one line with the number of executions, the number of executions
+ * that printed an error, the 50th, 99th, and 99.9th latency percentile, and the maximum latency
+ * in microseconds is printed, sorted by keyword.
+ *
+ * @author ujnaa
+ */
+public class StatsCommand implements Command {
+
+    /** Error message when the 'stats' command is used with extra parameters. */
+    public static final String ERROR_INVALID_STATS_COMMAND = "Error, invalid stats command";
+    /** Command keyword to print the command statistics. */
+    public static final String COMMAND_STATS = "stats";
+
+    private static final String OUTPUT_FORMAT = "%s: count %d, errors %d, p50 %.1f us, p99 %.1f us,"
+            + " p999 %.1f us, max %.1f us%n";
+    private static final int EXPECTED_ARGUMENT_COUNT = 1;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+    private static final double NANOS_PER_MICRO = 1e3;
+    private final CommandStatistics statistics;
+    private final OutputSink output;
+
+    /**
+     * Constructs the command to print the statistics.
+     *
+     * @param statistics the statistics of all executed commands
+     * @param output the sink receiving the command output
+     */
+    public StatsCommand(CommandStatistics statistics, OutputSink output) {
+        this.statistics = statistics;
+        this.output = output;
+    }
+
+    @Override
+    public void execute(String[] args) {
+        if (args.length != EXPECTED_ARGUMENT_COUNT) {
+            output.println(ERROR_INVALID_STATS_COMMAND);
+            return;
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : statistics.histograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            output.printf(OUTPUT_FORMAT, entry.getKey(), histogram.count(), histogram.errorCount(),
+                    micros(histogram.percentile(P50)), micros(histogram.percentile(P99)),
+                    micros(histogram.percentile(P999)), micros(histogram.max()));
+        }
+    }
+
+    private static double micros(long nanos) {
+        return nanos / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public String keyword() {
+        return COMMAND_STATS;
+    }
+}